@@ -0,0 +1,79 @@
+package com.desafio.api.benchmark;
+
+import com.desafio.api.ApiApplication;
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.service.ClienteService;
+import com.desafio.api.service.ContaService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContaServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int contasPorCliente;
+
+    private ConfigurableApplicationContext contexto;
+    private ContaService contaService;
+    private Long idClienteCadastro;
+    private Long idClienteConsulta;
+    private long sequencia;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        ClienteService clienteService = contexto.getBean(ClienteService.class);
+        contaService = contexto.getBean(ContaService.class);
+
+        idClienteCadastro = clienteService.cadastrarCliente(novoCliente(1)).getId();
+        idClienteConsulta = clienteService.cadastrarCliente(novoCliente(2)).getId();
+
+        for (int i = 0; i < contasPorCliente; i++) {
+            contaService.cadastrarConta(idClienteConsulta, novaConta(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ContaDTO cadastrarConta() {
+        return contaService.cadastrarConta(idClienteCadastro, novaConta(sequencia++));
+    }
+
+    @Benchmark
+    public List<ContaDTO> listarContasPeloIdCliente() {
+        return contaService.listarContasPeloIdCliente(idClienteConsulta);
+    }
+
+    private ClienteDTO novoCliente(int numero) {
+        return new ClienteDTO(null, "Cliente Benchmark " + numero, String.format("%011d", numero),
+                "cliente" + numero + "@benchmark.com", "11999999999", null);
+    }
+
+    private ContaDTO novaConta(long numero) {
+        return new ContaDTO(null, String.format("%02d-2024", numero % 12 + 1), BigDecimal.valueOf(numero % 100_000, 2),
+                SituacaoConta.PENDENTE, null, null, null);
+    }
+}
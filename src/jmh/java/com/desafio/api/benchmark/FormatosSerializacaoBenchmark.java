@@ -0,0 +1,101 @@
+package com.desafio.api.benchmark;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.ContaDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Bytes trafegados e custo de serializar/desserializar List<ContaDTO> em cada formato negociável, com e sem gzip.
+// Os tamanhos são impressos no setup de cada combinação.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatosSerializacaoBenchmark {
+
+    private static final TypeReference<List<ContaDTO>> LISTA_CONTAS = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String formato;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"20", "500"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<ContaDTO> contas;
+    private byte[] corpo;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(fabrica(formato)).build();
+        contas = new ArrayList<>(quantidade);
+
+        // Poucos clientes com muitas contas, como na listagem por cliente e na exportação.
+        for (int i = 0; i < quantidade; i++) {
+            long idCliente = i / 50;
+            ClienteDTO cliente = new ClienteDTO(idCliente, "Cliente " + idCliente, String.format("%011d", idCliente), "cliente" + idCliente + "@benchmark.com", "11999999999", 0L);
+            contas.add(new ContaDTO((long) i, String.format("%02d-2024", i % 12 + 1), BigDecimal.valueOf(i * 137L, 2), SituacaoConta.PENDENTE, cliente, 0L, false));
+        }
+
+        corpo = serializar();
+        System.out.printf("%n%s%s, %d contas: %d bytes%n", formato, gzip ? "+gzip" : "", quantidade, corpo.length);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(contas);
+
+        if (!gzip) {
+            return bytes;
+        }
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream compactado = new GZIPOutputStream(saida)) {
+            compactado.write(bytes);
+        }
+        return saida.toByteArray();
+    }
+
+    @Benchmark
+    public List<ContaDTO> desserializar() throws IOException {
+        if (!gzip) {
+            return objectMapper.readValue(corpo, LISTA_CONTAS);
+        }
+
+        try (GZIPInputStream descompactado = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            return objectMapper.readValue(descompactado, LISTA_CONTAS);
+        }
+    }
+
+    // Mesmas fábricas do FormatosBinariosConfig.
+    private static JsonFactory fabrica(String formato) {
+        return switch (formato) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+            default -> new JsonFactory();
+        };
+    }
+}
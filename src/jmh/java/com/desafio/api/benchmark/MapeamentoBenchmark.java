@@ -0,0 +1,59 @@
+package com.desafio.api.benchmark;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.model.Cliente;
+import com.desafio.api.model.Conta;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    private Cliente cliente;
+    private ClienteDTO clienteDTO;
+    private Conta conta;
+    private ContaDTO contaDTO;
+
+    @Setup
+    public void preparar() {
+        cliente = new Cliente(1L, 0L, "Cliente Benchmark", "12345678900", "11999999999", "cliente@benchmark.com", "cliente benchmark", "cliente@benchmark.com", null);
+        clienteDTO = cliente.toDTO();
+
+        conta = new Conta();
+        conta.setId(1L);
+        conta.setReferencia("01-2024");
+        conta.setValor(new BigDecimal("150.75"));
+        conta.setSituacao(SituacaoConta.PENDENTE);
+        conta.setCliente(cliente);
+        contaDTO = conta.toDTO();
+    }
+
+    @Benchmark
+    public ClienteDTO clienteParaDTO() {
+        return cliente.toDTO();
+    }
+
+    @Benchmark
+    public Cliente clienteDTOParaModelo() {
+        return clienteDTO.toModal();
+    }
+
+    @Benchmark
+    public ContaDTO contaParaDTO() {
+        return conta.toDTO();
+    }
+
+    @Benchmark
+    public Conta contaDTOParaModelo() {
+        return contaDTO.toModal();
+    }
+}
@@ -0,0 +1,59 @@
+package com.desafio.api.benchmark;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.ContaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"20", "200"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private Page<ClienteDTO> paginaClientes;
+    private List<ContaDTO> contas;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ClienteDTO> clientes = new ArrayList<>(quantidade);
+        contas = new ArrayList<>(quantidade);
+
+        for (int i = 0; i < quantidade; i++) {
+            ClienteDTO cliente = new ClienteDTO((long) i, "Cliente " + i, String.format("%011d", i), "cliente" + i + "@benchmark.com", "11999999999", 0L);
+            clientes.add(cliente);
+            contas.add(new ContaDTO((long) i, String.format("%02d-2024", i % 12 + 1), BigDecimal.valueOf(i * 137L, 2), SituacaoConta.PENDENTE, cliente, 0L, false));
+        }
+
+        paginaClientes = new PageImpl<>(clientes, PageRequest.of(0, quantidade), quantidade * 10L);
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaClientes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paginaClientes);
+    }
+
+    @Benchmark
+    public byte[] serializarListaContas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(contas);
+    }
+}
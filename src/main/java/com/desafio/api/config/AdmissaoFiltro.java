@@ -0,0 +1,260 @@
+package com.desafio.api.config;
+
+import com.desafio.api.util.LimiteTaxa;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// Controle de admissão antes do pool de conexões: cada chamador tem um balde de fichas (429 quando esgota) e
+// leituras e escritas têm limites de concorrência separados, com uma fila curta (503 quando cheia ou quando a
+// espera passa do limite). Assim um parceiro que inunda o cadastro de contas não ocupa as conexões das leituras.
+// O cadastro agrupado de contas tem uma classe própria: as requisições esperam o gravador sem segurar conexão,
+// e o limite de escritas cortaria os lotes bem antes de contas.agrupamento.tamanho-lote.
+@Component
+@ConditionalOnProperty(name = "admissao.habilitada", havingValue = "true")
+public class AdmissaoFiltro extends OncePerRequestFilter {
+
+    private static final Pattern CADASTRO_CONTA = Pattern.compile("^/clientes/[^/]+/contas$");
+
+    private Cache<String, LimiteTaxa> limitesPorChamador;
+    private Classe leitura;
+    private Classe escrita;
+    private Classe cadastroAgrupado;
+
+    @PostConstruct
+    void iniciar() {
+        limitesPorChamador = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .maximumSize(100_000)
+                .build();
+        leitura = new Classe("leitura", concorrenciaLeitura, filaLeitura);
+        escrita = new Classe("escrita", concorrenciaEscrita, filaEscrita);
+
+        if (agrupamentoHabilitado) {
+            cadastroAgrupado = new Classe("cadastro-agrupado", concorrenciaCadastroAgrupado, filaEscrita);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest requisicao) {
+        String caminho = requisicao.getRequestURI();
+        return caminho.startsWith("/actuator") || caminho.startsWith("/swagger-ui") || caminho.startsWith("/v3/api-docs");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest requisicao, HttpServletResponse resposta, FilterChain cadeia)
+            throws ServletException, IOException {
+        LimiteTaxa limite = limitesPorChamador.get(chamador(requisicao),
+                chave -> new LimiteTaxa(taxaPorSegundo, rajada, System.nanoTime()));
+        long espera = limite.consumir(System.nanoTime());
+
+        if (espera > 0) {
+            rejeitar(resposta, HttpStatus.TOO_MANY_REQUESTS, "taxa", espera,
+                    "Limite de requisições do chamador excedido. Tente novamente em alguns instantes.");
+            return;
+        }
+
+        Classe classe = classe(requisicao);
+
+        if (!classe.entrar()) {
+            rejeitar(resposta, HttpStatus.SERVICE_UNAVAILABLE, classe.nome, TimeUnit.SECONDS.toNanos(1),
+                    "Servidor ocupado. Tente novamente em alguns instantes.");
+            return;
+        }
+
+        AtomicBoolean liberada = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberada.compareAndSet(false, true)) {
+                classe.sair();
+            }
+        };
+
+        try {
+            cadeia.doFilter(requisicao, resposta);
+        } finally {
+            if (requisicao.isAsyncStarted()) {
+                // A exportação continua gravando a resposta (e usando o banco) depois que o filtro retorna.
+                requisicao.getAsyncContext().addListener(new LiberarAoConcluir(liberar));
+            } else {
+                liberar.run();
+            }
+        }
+    }
+
+    private Classe classe(HttpServletRequest requisicao) {
+        if (HttpMethod.GET.matches(requisicao.getMethod()) || HttpMethod.HEAD.matches(requisicao.getMethod())) {
+            return leitura;
+        }
+
+        if (cadastroAgrupado != null && HttpMethod.POST.matches(requisicao.getMethod())
+                && CADASTRO_CONTA.matcher(requisicao.getRequestURI()).matches()) {
+            return cadastroAgrupado;
+        }
+
+        return escrita;
+    }
+
+    // O usuário autenticado, quando houver; senão o endereço de origem. O cabeçalho só vale quando a conexão
+    // vem de um gateway confiável, que o preenche depois de autenticar o parceiro: de qualquer outra origem
+    // ele seria escolhido pelo próprio cliente, que ganharia um balde novo a cada valor. Atrás de um
+    // balanceador, o endereço já vem do X-Forwarded-For (server.forward-headers-strategy=native).
+    String chamador(HttpServletRequest requisicao) {
+        if (requisicao.getUserPrincipal() != null) {
+            return "usuario:" + requisicao.getUserPrincipal().getName();
+        }
+
+        String endereco = requisicao.getRemoteAddr();
+
+        if (gatewaysConfiaveis.contains(endereco)) {
+            String informado = requisicao.getHeader(cabecalhoChamador);
+
+            if (informado != null && !informado.isBlank()) {
+                return "parceiro:" + informado;
+            }
+        }
+
+        return "ip:" + endereco;
+    }
+
+    private void rejeitar(HttpServletResponse resposta, HttpStatus status, String motivo, long esperaNanos, String mensagem)
+            throws IOException {
+        meterRegistry.counter("admissao.rejeicoes", "motivo", motivo).increment();
+
+        long segundos = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        resposta.setStatus(status.value());
+        resposta.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        resposta.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        resposta.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resposta.getWriter().write(mensagem);
+    }
+
+    // Limite de concorrência com fila limitada: quem passa do tamanho da fila é recusado na hora, e quem entra
+    // na fila espera no máximo esperaMaximaMs.
+    private class Classe {
+
+        private final String nome;
+        private final Semaphore vagas;
+        private final int filaMaxima;
+        private final AtomicInteger aguardando = new AtomicInteger();
+
+        Classe(String nome, int concorrencia, int filaMaxima) {
+            this.nome = nome;
+            this.vagas = new Semaphore(concorrencia);
+            this.filaMaxima = filaMaxima;
+
+            meterRegistry.gauge("admissao.execucao", Tags.of("classe", nome), vagas,
+                    semaforo -> concorrencia - semaforo.availablePermits());
+            meterRegistry.gauge("admissao.aguardando", Tags.of("classe", nome), aguardando);
+        }
+
+        boolean entrar() {
+            if (vagas.tryAcquire()) {
+                return true;
+            }
+
+            if (aguardando.incrementAndGet() > filaMaxima) {
+                aguardando.decrementAndGet();
+                return false;
+            }
+
+            try {
+                return vagas.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                aguardando.decrementAndGet();
+            }
+        }
+
+        void sair() {
+            vagas.release();
+        }
+    }
+
+    private record LiberarAoConcluir(Runnable liberar) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent evento) {
+            liberar.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) {
+            liberar.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+            liberar.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+            evento.getAsyncContext().addListener(this);
+        }
+    }
+
+    @Value("${admissao.cabecalho-chamador:X-Chamador}")
+    private String cabecalhoChamador;
+
+    @Value("${admissao.gateways-confiaveis:}")
+    private Set<String> gatewaysConfiaveis;
+
+    @Value("${admissao.chamador.taxa-por-segundo:50}")
+    private double taxaPorSegundo;
+
+    @Value("${admissao.chamador.rajada:100}")
+    private int rajada;
+
+    @Value("${admissao.leitura.concorrencia-maxima:12}")
+    private int concorrenciaLeitura;
+
+    @Value("${admissao.leitura.fila-maxima:100}")
+    private int filaLeitura;
+
+    @Value("${admissao.escrita.concorrencia-maxima:6}")
+    private int concorrenciaEscrita;
+
+    @Value("${admissao.escrita.fila-maxima:50}")
+    private int filaEscrita;
+
+    @Value("${contas.agrupamento.habilitado:false}")
+    private boolean agrupamentoHabilitado;
+
+    @Value("${admissao.cadastro-agrupado.concorrencia-maxima:${contas.agrupamento.tamanho-lote:100}}")
+    private int concorrenciaCadastroAgrupado;
+
+    @Value("${admissao.espera-maxima-ms:200}")
+    private long esperaMaximaMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+}
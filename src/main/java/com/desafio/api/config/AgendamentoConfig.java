@@ -0,0 +1,43 @@
+package com.desafio.api.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+
+    // Com spring.main.lazy-initialization, um bean com @Scheduled só seria agendado quando alguém o usasse, e um
+    // @EventListener (inclusive @TransactionalEventListener) não receberia os eventos publicados antes disso.
+    @Bean
+    static LazyInitializationExcludeFilter agendadosSemInicializacaoTardia() {
+        return (nome, definicao, tipo) -> possuiMetodoAgendadoOuOuvinte(tipo);
+    }
+
+    static boolean possuiMetodoAgendadoOuOuvinte(Class<?> tipo) {
+        if (tipo == null) {
+            return false;
+        }
+
+        for (Method metodo : ReflectionUtils.getUniqueDeclaredMethods(ClassUtils.getUserClass(tipo),
+                ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(metodo, Scheduled.class)
+                    || AnnotatedElementUtils.hasAnnotation(metodo, Schedules.class)
+                    || AnnotatedElementUtils.hasAnnotation(metodo, EventListener.class)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
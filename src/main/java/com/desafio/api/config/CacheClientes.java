@@ -0,0 +1,37 @@
+package com.desafio.api.config;
+
+import com.desafio.api.dtos.ClienteDTO;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+// O ClienteDTO é mutável e o mesmo objeto devolvido pelo cache iria para todos os chamadores: o cache guarda
+// um record imutável e cada leitura recebe um ClienteDTO novo. Continua sendo um CaffeineCache, então as
+// métricas de cache seguem publicadas.
+class CacheClientes extends CaffeineCache {
+
+    CacheClientes(String nome, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean permitirNulos) {
+        super(nome, cache, permitirNulos);
+    }
+
+    @Override
+    protected Object toStoreValue(Object valor) {
+        return super.toStoreValue(valor instanceof ClienteDTO cliente ? ClienteCacheado.de(cliente) : valor);
+    }
+
+    @Override
+    protected Object fromStoreValue(Object valor) {
+        Object armazenado = super.fromStoreValue(valor);
+        return armazenado instanceof ClienteCacheado cliente ? cliente.toDTO() : armazenado;
+    }
+
+    private record ClienteCacheado(Long id, String nome, String cpf, String email, String telefone, Long versao) {
+
+        static ClienteCacheado de(ClienteDTO cliente) {
+            return new ClienteCacheado(cliente.getId(), cliente.getNome(), cliente.getCpf(), cliente.getEmail(),
+                    cliente.getTelefone(), cliente.getVersao());
+        }
+
+        ClienteDTO toDTO() {
+            return new ClienteDTO(id, nome, cpf, email, telefone, versao);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.desafio.api.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String CACHE_CLIENTES = "clientes";
+
+    // Mesmo Caffeine configurado por spring.cache.*, mas com put e evict adiados para depois do commit: um
+    // @CachePut dentro de uma transação que depois sofre rollback não deixa no cache um dado que nunca existiu.
+    @Bean
+    public CacheManager cacheManager(CacheProperties propriedades) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String nome, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return CACHE_CLIENTES.equals(nome)
+                        ? new CacheClientes(nome, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(nome, cache);
+            }
+        };
+
+        if (propriedades.getCaffeine().getSpec() != null) {
+            caffeine.setCacheSpecification(propriedades.getCaffeine().getSpec());
+        }
+        if (!propriedades.getCacheNames().isEmpty()) {
+            caffeine.setCacheNames(propriedades.getCacheNames());
+        }
+
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,77 @@
+package com.desafio.api.config;
+
+import java.util.function.Supplier;
+
+// Marca, por thread, que as leituras devem ir para a primária: depois de uma escrita na mesma
+// requisição (ler-apos-escrita) ou quando o cliente pediu leitura consistente pelo cabeçalho.
+// A fixação só dura a requisição inteira dentro do RoteamentoFiltro; fora dele (agendamentos, trabalhadores
+// da cobrança, gravador do cadastro agrupado) ela termina com a transação que a criou.
+public final class ContextoRoteamento {
+
+    private static final ThreadLocal<Boolean> EM_REQUISICAO = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARIA_FIXADA = new ThreadLocal<>();
+
+    private ContextoRoteamento() {
+    }
+
+    public static void iniciarRequisicao(boolean lerPrimaria) {
+        EM_REQUISICAO.set(Boolean.TRUE);
+
+        if (lerPrimaria) {
+            PRIMARIA_FIXADA.set(Boolean.TRUE);
+        } else {
+            PRIMARIA_FIXADA.remove();
+        }
+    }
+
+    public static boolean isEmRequisicao() {
+        return Boolean.TRUE.equals(EM_REQUISICAO.get());
+    }
+
+    public static void fixarPrimaria() {
+        PRIMARIA_FIXADA.set(Boolean.TRUE);
+    }
+
+    // Para escritas feitas por outra thread em nome da requisição atual; fora de uma requisição não faz nada.
+    public static void fixarPrimariaNaRequisicao() {
+        if (isEmRequisicao()) {
+            fixarPrimaria();
+        }
+    }
+
+    public static void liberarPrimaria() {
+        PRIMARIA_FIXADA.remove();
+    }
+
+    public static boolean isPrimariaFixada() {
+        return Boolean.TRUE.equals(PRIMARIA_FIXADA.get());
+    }
+
+    // Executa a leitura na primária e devolve a thread ao estado anterior.
+    public static <T> T naPrimaria(Supplier<T> leitura) {
+        Boolean anterior = PRIMARIA_FIXADA.get();
+        PRIMARIA_FIXADA.set(Boolean.TRUE);
+
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIA_FIXADA.remove();
+            } else {
+                PRIMARIA_FIXADA.set(anterior);
+            }
+        }
+    }
+
+    public static void naPrimaria(Runnable leitura) {
+        naPrimaria(() -> {
+            leitura.run();
+            return null;
+        });
+    }
+
+    public static void limpar() {
+        EM_REQUISICAO.remove();
+        PRIMARIA_FIXADA.remove();
+    }
+}
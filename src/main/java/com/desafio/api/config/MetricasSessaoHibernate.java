@@ -0,0 +1,78 @@
+package com.desafio.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+// Registrado pelo Hibernate em cada sessão (hibernate.session.events.auto); os valores são por sessão. Com
+// open-in-view a sessão dura a requisição inteira. No perfil replica, que desliga open-in-view, cada transação
+// abre a sua, e uma requisição pode somar várias sessões.
+public class MetricasSessaoHibernate implements SessionEventListener {
+
+    private int comandos;
+    private int lotes;
+    private int flushes;
+    private int entidadesFlush;
+    private long inicioExecucao;
+    private long tempoExecucao;
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        comandos++;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicioExecucao = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        tempoExecucao += System.nanoTime() - inicioExecucao;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicioExecucao = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        lotes++;
+        tempoExecucao += System.nanoTime() - inicioExecucao;
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushes++;
+        entidadesFlush += numberOfEntities;
+    }
+
+    @Override
+    public void end() {
+        if (comandos == 0 && flushes == 0) {
+            return;
+        }
+
+        resumo("hibernate.sessao.comandos", "Comandos JDBC preparados por sessão").record(comandos);
+        resumo("hibernate.sessao.lotes", "Lotes JDBC executados por sessão").record(lotes);
+        resumo("hibernate.sessao.flushes", "Flushes por sessão").record(flushes);
+        resumo("hibernate.sessao.entidades.flush", "Entidades verificadas em flush por sessão").record(entidadesFlush);
+
+        Timer.builder("hibernate.sessao.execucao")
+                .description("Tempo gasto executando comandos JDBC por sessão")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(tempoExecucao, TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary resumo(String nome, String descricao) {
+        return DistributionSummary.builder(nome)
+                .description(descricao)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.desafio.api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Transações somente leitura vão para a réplica; o resto, inclusive acesso fora de transação, vai para a primária.
+// Precisa estar atrás de um LazyConnectionDataSourceProxy para que a conexão seja escolhida depois de a
+// transação definir o readOnly.
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIA = "primaria";
+    public static final String REPLICA = "replica";
+
+    private final boolean lerAposEscrita;
+
+    public RoteamentoDataSource(boolean lerAposEscrita) {
+        this.lerAposEscrita = lerAposEscrita;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ContextoRoteamento.isPrimariaFixada() ? PRIMARIA : REPLICA;
+        }
+
+        if (lerAposEscrita && TransactionSynchronizationManager.isActualTransactionActive() && !ContextoRoteamento.isPrimariaFixada()) {
+            fixarPrimaria();
+        }
+        return PRIMARIA;
+    }
+
+    private void fixarPrimaria() {
+        if (ContextoRoteamento.isEmRequisicao()) {
+            ContextoRoteamento.fixarPrimaria();
+            return;
+        }
+
+        // Threads de fundo são reaproveitadas: a fixação vale só até o fim desta transação.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            ContextoRoteamento.fixarPrimaria();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ContextoRoteamento.liberarPrimaria();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.desafio.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "banco.replica.habilitada", havingValue = "true")
+public class RoteamentoDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("banco.replica.hikari")
+    public HikariDataSource dataSourceReplica(@Value("${banco.replica.url}") String url,
+                                              @Value("${banco.replica.username:${spring.datasource.username}}") String usuario,
+                                              @Value("${banco.replica.password:${spring.datasource.password}}") String senha) {
+        return DataSourceBuilder.create().type(HikariDataSource.class).url(url).username(usuario).password(senha).build();
+    }
+
+    // Com open-in-view a sessão do Hibernate segura a mesma conexão durante toda a requisição,
+    // então uma escrita depois de uma leitura sairia pela conexão da réplica.
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 @Value("${banco.replica.ler-apos-escrita:true}") boolean lerAposEscrita,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean abertoNaView) {
+        if (abertoNaView) {
+            throw new IllegalStateException("O roteamento para a réplica exige spring.jpa.open-in-view=false.");
+        }
+
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(lerAposEscrita);
+        roteamento.setTargetDataSources(Map.of(RoteamentoDataSource.PRIMARIA, primaria, RoteamentoDataSource.REPLICA, replica));
+        roteamento.setDefaultTargetDataSource(primaria);
+        roteamento.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
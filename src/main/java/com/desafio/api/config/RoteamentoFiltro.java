@@ -0,0 +1,30 @@
+package com.desafio.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(name = "banco.replica.habilitada", havingValue = "true")
+public class RoteamentoFiltro extends OncePerRequestFilter {
+
+    public static final String CABECALHO_LER_PRIMARIA = "X-Ler-Primaria";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest requisicao, HttpServletResponse resposta, FilterChain cadeia)
+            throws ServletException, IOException {
+        ContextoRoteamento.iniciarRequisicao(Boolean.parseBoolean(requisicao.getHeader(CABECALHO_LER_PRIMARIA)));
+
+        try {
+            cadeia.doFilter(requisicao, resposta);
+        } finally {
+            ContextoRoteamento.limpar();
+        }
+    }
+}
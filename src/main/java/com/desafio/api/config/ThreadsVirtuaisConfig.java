@@ -0,0 +1,25 @@
+package com.desafio.api.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// O Spring Boot ignora spring.threads.virtual.enabled abaixo do Java 21 e sobe com o pool do Tomcat, que no
+// perfil virtual teria os limites de conexões pensados para threads virtuais. A verificação roda antes de qualquer
+// bean ser criado, então a aplicação para antes de abrir o pool e de aplicar migrações.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    static BeanFactoryPostProcessor exigirJava21ParaThreadsVirtuais() {
+        return fabrica -> {
+            if (!JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+                throw new IllegalStateException("spring.threads.virtual.enabled exige Java 21; esta JVM é a "
+                        + JavaVersion.getJavaVersion() + ". Rode sem o perfil virtual ou em uma JVM 21.");
+            }
+        };
+    }
+}
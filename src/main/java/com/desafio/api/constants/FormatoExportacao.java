@@ -0,0 +1,6 @@
+package com.desafio.api.constants;
+
+public enum FormatoExportacao {
+    CSV,
+    NDJSON
+}
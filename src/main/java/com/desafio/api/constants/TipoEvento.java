@@ -0,0 +1,11 @@
+package com.desafio.api.constants;
+
+public enum TipoEvento {
+    CLIENTE_CRIADO,
+    CLIENTE_ATUALIZADO,
+    CLIENTE_REMOVIDO,
+    CONTA_CRIADA,
+    CONTA_ATUALIZADA,
+    CONTA_SITUACAO_ALTERADA,
+    CONTA_SINALIZADA_EM_ATRASO
+}
@@ -1,19 +1,27 @@
 package com.desafio.api.controller;
 
 import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.PaginaCursorDTO;
+import com.desafio.api.dtos.ResultadoExclusaoClienteDTO;
 import com.desafio.api.model.Cliente;
+import com.desafio.api.model.RevisaoCliente;
 import com.desafio.api.service.ClienteService;
+import com.desafio.api.service.RevisaoClienteService;
+import com.desafio.api.util.VersaoUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.Objects;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/clientes")
@@ -21,37 +29,59 @@ public class ClienteController {
 
     @PostMapping
     public ResponseEntity<ClienteDTO> cadastrarCliente(@Valid @RequestBody ClienteDTO clienteDTO){
-        return ResponseEntity.status(HttpStatus.CREATED).body(clienteService.cadastrarCliente(clienteDTO));
+        ClienteDTO cadastrado = clienteService.cadastrarCliente(clienteDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(VersaoUtil.paraETag(cadastrado.getVersao())).body(cadastrado);
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<ClienteDTO> atualizarCliente(@Valid @PathVariable("id") Long id, @Valid @RequestBody ClienteDTO dadosClienteDTO){
+    @GetMapping("/{id}")
+    public ResponseEntity<ClienteDTO> buscarCliente(@PathVariable("id") Long id){
         ClienteDTO clienteDTO = clienteService.buscarClientePorId(id);
+        return ResponseEntity.ok().eTag(VersaoUtil.paraETag(clienteDTO.getVersao())).body(clienteDTO);
+    }
 
-        if (Objects.isNull(clienteDTO)){
-            return ResponseEntity.notFound().build();
-        }
-
-        return ResponseEntity.ok().body(clienteService.atualizarCliente(id, dadosClienteDTO));
+    @PutMapping("/{id}")
+    public ResponseEntity<ClienteDTO> atualizarCliente(@Valid @PathVariable("id") Long id,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @Valid @RequestBody ClienteDTO dadosClienteDTO){
+        ClienteDTO atualizado = clienteService.atualizarCliente(id, dadosClienteDTO, VersaoUtil.lerIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersaoUtil.paraETag(atualizado.getVersao())).body(atualizado);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletarCliente(@Valid @PathVariable("id") Long id){
-        ClienteDTO clienteDTO = clienteService.buscarClientePorId(id);
+    public ResponseEntity<ResultadoExclusaoClienteDTO> deletarCliente(@Valid @PathVariable("id") Long id,
+                                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return ResponseEntity.ok(clienteService.deletarCliente(id, VersaoUtil.lerIfMatch(ifMatch)));
+    }
 
-        if (Objects.isNull(clienteDTO)){
-            return ResponseEntity.notFound().build();
+    @GetMapping
+    public ResponseEntity<Page<ClienteDTO>> listarClientes(@Valid @PageableDefault(size = 10, page = 0, sort = "nome", direction = Sort.Direction.ASC)Pageable paginacao,
+                                                           WebRequest requisicao){
+        Optional<RevisaoCliente> revisao = revisaoClienteService.buscarRevisaoListaClientes();
+
+        if (VersaoUtil.naoModificado(requisicao, revisao)) {
+            return null;
         }
 
-        clienteService.deletarCliente(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok().headers(VersaoUtil.cabecalhosRevisao(revisao)).body(clienteService.listarClientes(paginacao));
     }
 
-    @GetMapping
-    public ResponseEntity<Page<ClienteDTO>> listarClientes(@Valid @PageableDefault(size = 10, page = 0, sort = "nome", direction = Sort.Direction.ASC)Pageable paginacao){
-        return ResponseEntity.ok().body(clienteService.listarClientes(paginacao));
+    @GetMapping("/cursor")
+    public ResponseEntity<PaginaCursorDTO<ClienteDTO>> listarClientesPorCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                               @RequestParam(value = "tamanho", defaultValue = "10") int tamanho){
+        return ResponseEntity.ok().body(clienteService.listarClientesPorCursor(cursor, tamanho));
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<List<ClienteDTO>> buscarClientes(@RequestParam(value = "nome", required = false) String nome,
+                                                           @RequestParam(value = "cpf", required = false) String cpf,
+                                                           @RequestParam(value = "email", required = false) String email,
+                                                           @RequestParam(value = "tamanho", defaultValue = "20") int tamanho){
+        return ResponseEntity.ok(clienteService.buscarClientes(nome, cpf, email, tamanho));
     }
 
     @Autowired
     private ClienteService clienteService;
+
+    @Autowired
+    private RevisaoClienteService revisaoClienteService;
 }
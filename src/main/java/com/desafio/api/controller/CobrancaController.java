@@ -0,0 +1,35 @@
+package com.desafio.api.controller;
+
+import com.desafio.api.dtos.ExecucaoCobrancaDTO;
+import com.desafio.api.dtos.ResumoCobrancaDTO;
+import com.desafio.api.service.CobrancaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+public class CobrancaController {
+
+    @PostMapping("/cobrancas/execucoes")
+    public ResponseEntity<ExecucaoCobrancaDTO> iniciarExecucao(@RequestParam(value = "referenciaLimite", required = false) String referenciaLimite) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(cobrancaService.iniciar(referenciaLimite));
+    }
+
+    @GetMapping("/cobrancas/execucoes/{id}")
+    public ResponseEntity<ExecucaoCobrancaDTO> buscarExecucao(@PathVariable("id") Long id) {
+        return ResponseEntity.ok().body(cobrancaService.buscarExecucao(id));
+    }
+
+    @GetMapping("/cobrancas/execucoes/{id}/resumos")
+    public ResponseEntity<Page<ResumoCobrancaDTO>> buscarResumos(@PathVariable("id") Long id,
+                                                                 @PageableDefault(size = 50, page = 0) Pageable paginacao) {
+        return ResponseEntity.ok().body(cobrancaService.buscarResumos(id, paginacao));
+    }
+
+    @Autowired
+    private CobrancaService cobrancaService;
+}
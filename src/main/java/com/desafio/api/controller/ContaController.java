@@ -1,60 +1,143 @@
 package com.desafio.api.controller;
 
+import com.desafio.api.constants.FormatoExportacao;
+import com.desafio.api.constants.SituacaoConta;
 import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.dtos.ContasClienteDTO;
+import com.desafio.api.dtos.ResultadoImportacaoDTO;
+import com.desafio.api.dtos.ResultadoTransicaoDTO;
+import com.desafio.api.dtos.TransicaoContasDTO;
 import com.desafio.api.model.Conta;
+import com.desafio.api.model.RevisaoCliente;
+import com.desafio.api.service.CadastroContaAgrupado;
 import com.desafio.api.service.ContaService;
+import com.desafio.api.service.ExportacaoContaService;
+import com.desafio.api.service.ImportacaoContaService;
+import com.desafio.api.service.RevisaoClienteService;
+import com.desafio.api.service.TransicaoContaService;
+import com.desafio.api.util.VersaoUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
 @RestController
 public class ContaController {
 
     @PostMapping("/clientes/{idCliente}/contas")
     public ResponseEntity<ContaDTO> cadastrarConta(@Valid @PathVariable("idCliente") Long id, @RequestBody ContaDTO contaDTO) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(contaService.cadastrarConta(id, contaDTO));
+        ContaDTO cadastrada = cadastroContaAgrupado.cadastrar(id, contaDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(VersaoUtil.paraETag(cadastrada.getVersao())).body(cadastrada);
+    }
+
+    @GetMapping("/contas/{id}")
+    public ResponseEntity<ContaDTO> buscarConta(@PathVariable("id") Long id) {
+        ContaDTO contaDTO = contaService.buscarContaPeloId(id);
+        return ResponseEntity.ok().eTag(VersaoUtil.paraETag(contaDTO.getVersao())).body(contaDTO);
     }
 
     @PutMapping("/contas/{id}")
-    public ResponseEntity<ContaDTO> atualizarConta(@Valid @PathVariable("id") Long id, @RequestBody ContaDTO dadosConta) {
+    public ResponseEntity<ContaDTO> atualizarConta(@Valid @PathVariable("id") Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestBody ContaDTO dadosConta) {
+        ContaDTO atualizada = contaService.atualizarConta(id, dadosConta, VersaoUtil.lerIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersaoUtil.paraETag(atualizada.getVersao())).body(atualizada);
+    }
 
-        ContaDTO contaDTO = contaService.buscarContaPeloId(id);
+    @DeleteMapping("/contas/{id}")
+    public ResponseEntity<Void> deletarConta(@Valid @PathVariable("id") Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        contaService.deletarConta(id, VersaoUtil.lerIfMatch(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
 
-        if (Objects.isNull(contaDTO)) {
-            return ResponseEntity.notFound().build();
+    @GetMapping("/clientes/{idCliente}/contas")
+    public ResponseEntity<List<ContaDTO>> listarContas(@Valid @PathVariable("idCliente") Long id,
+                                                       @RequestParam(value = "referenciaInicial", required = false) String referenciaInicial,
+                                                       @RequestParam(value = "referenciaFinal", required = false) String referenciaFinal,
+                                                       WebRequest requisicao) {
+        // A revisão é lida antes das contas: se algo mudar entre as duas leituras, o ETag fica mais antigo que o corpo
+        // e o próximo polling apenas baixa a lista de novo.
+        Optional<RevisaoCliente> revisao = revisaoClienteService.buscarRevisao(id);
+
+        if (VersaoUtil.naoModificado(requisicao, revisao)) {
+            return null;
         }
 
-        return ResponseEntity.ok().body(contaService.atualizarConta(id, dadosConta));
+        List<ContaDTO> contas = referenciaInicial != null || referenciaFinal != null
+                ? contaService.listarContasPorPeriodo(id, referenciaInicial, referenciaFinal)
+                : contaService.listarContasPeloIdCliente(id);
+
+        return ResponseEntity.ok().headers(VersaoUtil.cabecalhosRevisao(revisao)).body(contas);
     }
 
-    @DeleteMapping("/contas/{id}")
-    public ResponseEntity<Void> deletarConta(@Valid @PathVariable("id") Long id) {
-        ContaDTO contaDTO = contaService.buscarContaPeloId(id);
+    @GetMapping("/clientes/{idCliente}/contas/paginadas")
+    public ResponseEntity<ContasClienteDTO> listarContasPaginadas(@PathVariable("idCliente") Long id,
+                                                                  @RequestParam(value = "situacao", required = false) SituacaoConta situacao,
+                                                                  @RequestParam(value = "referenciaInicial", required = false) String referenciaInicial,
+                                                                  @RequestParam(value = "referenciaFinal", required = false) String referenciaFinal,
+                                                                  @PageableDefault(size = 20, page = 0) Pageable paginacao) {
+        return ResponseEntity.ok().body(contaService.listarContasPaginadas(id, situacao, referenciaInicial, referenciaFinal, paginacao));
+    }
 
-        if (Objects.isNull(contaDTO)) {
-            return ResponseEntity.notFound().build();
-        }
+    @PostMapping(value = "/contas/importacao", consumes = "application/x-ndjson")
+    public ResponseEntity<ResultadoImportacaoDTO> importarContasNdjson(InputStream corpo) {
+        return ResponseEntity.ok().body(importacaoContaService.importarNdjson(new InputStreamReader(corpo, StandardCharsets.UTF_8)));
+    }
 
-        contaService.deletarConta(id);
-        return ResponseEntity.noContent().build();
+    @PostMapping(value = "/contas/importacao", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacaoDTO> importarContasCsv(InputStream corpo) {
+        return ResponseEntity.ok().body(importacaoContaService.importarCsv(new InputStreamReader(corpo, StandardCharsets.UTF_8)));
     }
 
-    @GetMapping("/clientes/{idCliente}/contas")
-    public ResponseEntity<List<ContaDTO>> listarContas(@Valid @PathVariable("idCliente") Long id) {
-        ContaDTO contaDTO = contaService.buscarContaPeloId(id);
+    @GetMapping("/contas/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarContas(@RequestParam(value = "formato", defaultValue = "csv") String formato,
+                                                                @RequestParam(value = "compactar", defaultValue = "false") boolean compactar) {
+        FormatoExportacao formatoExportacao = exportacaoContaService.converterFormato(formato);
+        String arquivo = "contas." + formatoExportacao.name().toLowerCase() + (compactar ? ".gz" : "");
+        MediaType tipo = compactar ? MediaType.parseMediaType("application/gzip")
+                : formatoExportacao == FormatoExportacao.CSV ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson");
 
-        if (Objects.isNull(contaDTO)) {
-            return ResponseEntity.notFound().build();
-        }
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(saida -> exportacaoContaService.exportar(saida, formatoExportacao, compactar));
+    }
 
-        return ResponseEntity.ok().body(contaService.listarContasPeloIdCliente(id));
+    @PatchMapping("/contas/situacao")
+    public ResponseEntity<ResultadoTransicaoDTO> alterarSituacaoContas(@RequestBody TransicaoContasDTO transicao) {
+        return ResponseEntity.ok().body(transicaoContaService.alterarSituacao(transicao));
     }
 
     @Autowired
     private ContaService contaService;
+
+    @Autowired
+    private CadastroContaAgrupado cadastroContaAgrupado;
+
+    @Autowired
+    private ImportacaoContaService importacaoContaService;
+
+    @Autowired
+    private TransicaoContaService transicaoContaService;
+
+    @Autowired
+    private RevisaoClienteService revisaoClienteService;
+
+    @Autowired
+    private ExportacaoContaService exportacaoContaService;
 }
@@ -0,0 +1,21 @@
+package com.desafio.api.controller;
+
+import com.desafio.api.dtos.FeedEventosDTO;
+import com.desafio.api.service.EventoAlteracaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/eventos")
+public class EventoController {
+
+    @GetMapping
+    public ResponseEntity<FeedEventosDTO> buscarEventos(@RequestParam(value = "apos", defaultValue = "0") Long apos,
+                                                        @RequestParam(value = "tamanho", defaultValue = "500") int tamanho){
+        return ResponseEntity.ok(eventoAlteracaoService.buscarEventos(apos, tamanho));
+    }
+
+    @Autowired
+    private EventoAlteracaoService eventoAlteracaoService;
+}
@@ -0,0 +1,40 @@
+package com.desafio.api.controller;
+
+import com.desafio.api.dtos.TotalFaturamentoDTO;
+import com.desafio.api.service.ClienteService;
+import com.desafio.api.service.ResumoFaturamentoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+public class RelatorioController {
+
+    @GetMapping("/relatorios/faturamento")
+    public ResponseEntity<List<TotalFaturamentoDTO>> buscarTotaisGerais(@RequestParam(value = "referenciaInicial", required = false) String referenciaInicial,
+                                                                        @RequestParam(value = "referenciaFinal", required = false) String referenciaFinal) {
+        return ResponseEntity.ok().body(resumoFaturamentoService.buscarTotaisGerais(referenciaInicial, referenciaFinal));
+    }
+
+    @GetMapping("/clientes/{idCliente}/relatorios/faturamento")
+    public ResponseEntity<List<TotalFaturamentoDTO>> buscarTotaisPorCliente(@PathVariable("idCliente") Long id,
+                                                                            @RequestParam(value = "referenciaInicial", required = false) String referenciaInicial,
+                                                                            @RequestParam(value = "referenciaFinal", required = false) String referenciaFinal) {
+        clienteService.buscarClientePorId(id);
+
+        return ResponseEntity.ok().body(resumoFaturamentoService.buscarTotaisPorCliente(id, referenciaInicial, referenciaFinal));
+    }
+
+    @PostMapping("/relatorios/faturamento/reconstrucao")
+    public ResponseEntity<Long> reconstruirResumo() {
+        return ResponseEntity.ok().body(resumoFaturamentoService.reconstruir());
+    }
+
+    @Autowired
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    @Autowired
+    private ClienteService clienteService;
+}
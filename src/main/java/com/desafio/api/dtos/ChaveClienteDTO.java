@@ -0,0 +1,15 @@
+package com.desafio.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChaveClienteDTO {
+
+    private Long id;
+    private String cpf;
+    private String email;
+}
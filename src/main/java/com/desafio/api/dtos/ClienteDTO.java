@@ -1,6 +1,7 @@
 package com.desafio.api.dtos;
 
 import com.desafio.api.model.Cliente;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,9 @@ public class ClienteDTO {
     private String email;
     private String telefone;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
     public Cliente toModal() {
         Cliente cliente = new Cliente();
 
@@ -26,6 +30,7 @@ public class ClienteDTO {
         cliente.setCpf(this.cpf);
         cliente.setEmail(this.email);
         cliente.setTelefone(this.telefone);
+        cliente.setVersao(this.versao);
 
         return cliente;
     }
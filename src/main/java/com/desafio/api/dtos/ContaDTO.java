@@ -2,10 +2,13 @@ package com.desafio.api.dtos;
 
 import com.desafio.api.constants.SituacaoConta;
 import com.desafio.api.model.Conta;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,10 +16,17 @@ public class ContaDTO {
 
     private Long id;
     private String referencia;
-    private Double valor;
+    private BigDecimal valor;
     private SituacaoConta situacao;
     private ClienteDTO cliente;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    // Sinalizada pela rotina de cobrança; não é informada no cadastro nem na atualização.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Boolean emAtraso;
+
     public Conta toModal(){
         Conta conta = new Conta();
 
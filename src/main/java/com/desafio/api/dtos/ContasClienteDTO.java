@@ -0,0 +1,15 @@
+package com.desafio.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContasClienteDTO {
+
+    private ClienteDTO cliente;
+    private Page<ContaResumoDTO> contas;
+}
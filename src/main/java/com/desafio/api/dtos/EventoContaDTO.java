@@ -0,0 +1,21 @@
+package com.desafio.api.dtos;
+
+import com.desafio.api.constants.SituacaoConta;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoContaDTO {
+
+    private Long id;
+    private Long idCliente;
+    private String referencia;
+    private BigDecimal valor;
+    private SituacaoConta situacao;
+    private SituacaoConta situacaoAnterior;
+}
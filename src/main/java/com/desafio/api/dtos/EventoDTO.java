@@ -0,0 +1,25 @@
+package com.desafio.api.dtos;
+
+import com.desafio.api.constants.TipoEvento;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoDTO {
+
+    private Long id;
+    private Long posicao;
+    private TipoEvento tipo;
+    private Long idEntidade;
+    private Long idCliente;
+    private Instant criadoEm;
+
+    @JsonRawValue
+    private String dados;
+}
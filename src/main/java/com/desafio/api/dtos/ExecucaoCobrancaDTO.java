@@ -0,0 +1,23 @@
+package com.desafio.api.dtos;
+
+import com.desafio.api.constants.SituacaoExecucao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecucaoCobrancaDTO {
+
+    private Long id;
+    private String referenciaLimite;
+    private SituacaoExecucao situacao;
+    private long linhasProcessadas;
+    private long contasSinalizadas;
+    private Instant iniciadaEm;
+    private Instant concluidaEm;
+    private double linhasPorSegundo;
+}
@@ -0,0 +1,16 @@
+package com.desafio.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedEventosDTO {
+
+    private List<EventoDTO> eventos;
+    private Long proximoOffset;
+}
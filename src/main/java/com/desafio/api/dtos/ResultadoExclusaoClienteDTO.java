@@ -0,0 +1,15 @@
+package com.desafio.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoExclusaoClienteDTO {
+
+    private Long idCliente;
+    private long contasRemovidas;
+    private long lotes;
+}
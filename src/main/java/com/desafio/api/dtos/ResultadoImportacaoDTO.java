@@ -0,0 +1,19 @@
+package com.desafio.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+
+    private long linhasLidas;
+    private long contasImportadas;
+    private long linhasComErro;
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
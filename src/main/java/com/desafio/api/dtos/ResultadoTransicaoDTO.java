@@ -0,0 +1,18 @@
+package com.desafio.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoTransicaoDTO {
+
+    private long contasAlteradas;
+    private long contasRejeitadas;
+    private List<Long> idsRejeitados = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.desafio.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoCobrancaDTO {
+
+    private Long idCliente;
+    private long contasEmAtraso;
+    private BigDecimal totalEmAtraso;
+    private String referenciaMaisAntiga;
+}
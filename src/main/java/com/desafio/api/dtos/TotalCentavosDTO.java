@@ -0,0 +1,17 @@
+package com.desafio.api.dtos;
+
+import com.desafio.api.constants.SituacaoConta;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalCentavosDTO {
+
+    private Integer competencia;
+    private SituacaoConta situacao;
+    private Long quantidade;
+    private Long totalCentavos;
+}
@@ -0,0 +1,20 @@
+package com.desafio.api.dtos;
+
+import com.desafio.api.constants.SituacaoConta;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicaoContasDTO {
+
+    private SituacaoConta situacao;
+    private List<Long> ids;
+    private Long idCliente;
+    private String referencia;
+    private SituacaoConta situacaoAtual;
+}
@@ -0,0 +1,8 @@
+package com.desafio.api.exception;
+
+public class ExecucaoEmAndamentoException extends RuntimeException{
+
+    public ExecucaoEmAndamentoException(String mensagem){
+        super(mensagem);
+    }
+}
@@ -2,6 +2,7 @@ package com.desafio.api.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,6 +20,21 @@ public class GlobalHandlerException {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ExecucaoEmAndamentoException.class)
+    public ResponseEntity<String> handleExecucaoEmAndamentoException(ExecucaoEmAndamentoException ex){
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(VersaoConflitanteException.class)
+    public ResponseEntity<String> handleVersaoConflitanteException(VersaoConflitanteException ex){
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleObjectOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex){
+        return new ResponseEntity<>("O registro foi alterado por outra requisição. Consulte-o novamente antes de alterar.", HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler({CampoIncorretoException.class, ConsultaInvalidaException.class})
     public ResponseEntity<String> handleCampoInvalidoException(Exception ex){
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
@@ -0,0 +1,8 @@
+package com.desafio.api.exception;
+
+public class VersaoConflitanteException extends RuntimeException{
+
+    public VersaoConflitanteException(String mensagem){
+        super(mensagem);
+    }
+}
@@ -1,11 +1,13 @@
 package com.desafio.api.model;
 
 import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.util.TextoUtil;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -13,6 +15,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity(name = "tb_cliente")
+@Table(indexes = {
+        @Index(name = "IDX_CLIENTE_NOME_ID", columnList = "NOME_CLIENTE, ID_CLIENTE"),
+        @Index(name = "IDX_CLIENTE_EMAIL", columnList = "EMAIL_CLIENTE"),
+        @Index(name = "IDX_CLIENTE_NOME_BUSCA", columnList = "NOME_BUSCA_CLIENTE, ID_CLIENTE"),
+        @Index(name = "UK_CLIENTE_EMAIL_BUSCA", columnList = "EMAIL_BUSCA_CLIENTE", unique = true)
+})
 public class Cliente {
 
     @Id
@@ -20,6 +28,11 @@ public class Cliente {
     @Column(name = "ID_CLIENTE")
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "VERSAO_CLIENTE", nullable = false)
+    private Long versao;
+
     @NotNull(message = "O Campo Nome é Obrigatório.")
     @Column(name = "NOME_CLIENTE", nullable = false)
     private String nome;
@@ -34,9 +47,25 @@ public class Cliente {
     @Column(name = "EMAIL_CLIENTE")
     private String email;
 
+    @Column(name = "NOME_BUSCA_CLIENTE")
+    private String nomeBusca;
+
+    @Column(name = "EMAIL_BUSCA_CLIENTE")
+    private String emailBusca;
+
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Conta> contas;
 
+    public void setNome(String nome){
+        this.nome = nome;
+        this.nomeBusca = TextoUtil.normalizar(nome);
+    }
+
+    public void setEmail(String email){
+        this.email = email;
+        this.emailBusca = TextoUtil.normalizar(email);
+    }
+
     public ClienteDTO toDTO(){
         ClienteDTO dto = new ClienteDTO();
 
@@ -45,6 +74,7 @@ public class Cliente {
         dto.setNome(nome);
         dto.setTelefone(telefone);
         dto.setEmail(email);
+        dto.setVersao(versao);
 
         return dto;
     }
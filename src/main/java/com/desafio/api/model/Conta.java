@@ -2,6 +2,7 @@ package com.desafio.api.model;
 
 import com.desafio.api.constants.SituacaoConta;
 import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.util.ReferenciaUtil;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -9,36 +10,59 @@ import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity(name = "TB_CONTA")
+@Table(indexes = @Index(name = "IDX_CONTA_CLIENTE_COMPETENCIA", columnList = "CLIENTE_ID, COMPETENCIA_CONTA"))
 public class Conta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_CONTA")
+    @SequenceGenerator(name = "SEQ_CONTA", sequenceName = "SEQ_CONTA", allocationSize = 50)
     @Column(name = "ID_CONTA")
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "VERSAO_CONTA", nullable = false)
+    private Long versao;
+
     @NotNull(message = "O Campo Referência é Obrigatório.")
     @Column(name = "REFERENCIA_CONTA", nullable = false)
-    @Pattern(regexp = "^(0[1-9]|1[0-2])-(\\d{4})$", message = "Formato inválido. Use MM-AAAA ")
+    @Pattern(regexp = ReferenciaUtil.PADRAO_REFERENCIA, message = "Formato inválido. Use MM-AAAA ")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "MM-yyyy")
     private String referencia;
 
+    @Column(name = "COMPETENCIA_CONTA")
+    private Integer competencia;
+
     @NotNull(message = "O Campo Valor é Obrigatório.")
-    @Column(name = "VALOR_CONTA", nullable = false)
-    private Double valor;
+    @Column(name = "VALOR_CONTA", nullable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
 
     @NotNull(message = "O Campo Situação é Obrigatório.")
     @Column(name = "SITUACAO_CONTA", nullable = false)
     private SituacaoConta situacao;
 
+    // Sinalizada pela rotina de cobrança quando a competência passou e a conta continuava pendente.
+    @ColumnDefault("false")
+    @Column(name = "EM_ATRASO_CONTA", nullable = false)
+    private Boolean emAtraso = false;
+
     @ManyToOne
     @JoinColumn(name = "CLIENTE_ID", nullable = false)
     private Cliente cliente;
 
+    public void setReferencia(String referencia){
+        this.referencia = referencia;
+        this.competencia = ReferenciaUtil.isValida(referencia) ? ReferenciaUtil.paraCompetencia(referencia) : null;
+    }
+
     public ContaDTO toDTO(){
         ContaDTO dto = new ContaDTO();
 
@@ -46,6 +70,8 @@ public class Conta {
         dto.setReferencia(referencia);
         dto.setValor(valor);
         dto.setSituacao(situacao);
+        dto.setVersao(versao);
+        dto.setEmAtraso(emAtraso);
         dto.setCliente(cliente.toDTO());
 
         return dto;
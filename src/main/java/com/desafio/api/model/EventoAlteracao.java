@@ -0,0 +1,45 @@
+package com.desafio.api.model;
+
+import com.desafio.api.constants.TipoEvento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "TB_EVENTO_ALTERACAO")
+@Table(indexes = {
+        @Index(name = "IDX_EVENTO_CRIADO_EM", columnList = "CRIADO_EM_EVENTO"),
+        @Index(name = "UK_EVENTO_POSICAO", columnList = "POSICAO_EVENTO", unique = true)
+})
+public class EventoAlteracao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_EVENTO")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "TIPO_EVENTO", nullable = false, length = 40)
+    private TipoEvento tipo;
+
+    @Column(name = "ID_ENTIDADE_EVENTO", nullable = false)
+    private Long idEntidade;
+
+    @Column(name = "ID_CLIENTE_EVENTO", nullable = false)
+    private Long idCliente;
+
+    @Column(name = "DADOS_EVENTO", length = 4000)
+    private String dados;
+
+    @Column(name = "CRIADO_EM_EVENTO", nullable = false)
+    private Instant criadoEm;
+
+    // Nula até a publicação depois do commit (EventoAlteracaoService.publicarEventos); é o offset do feed.
+    @Column(name = "POSICAO_EVENTO")
+    private Long posicao;
+}
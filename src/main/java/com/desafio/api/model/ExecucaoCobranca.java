@@ -0,0 +1,53 @@
+package com.desafio.api.model;
+
+import com.desafio.api.constants.SituacaoExecucao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "TB_EXECUCAO_COBRANCA")
+public class ExecucaoCobranca {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_EXECUCAO")
+    private Long id;
+
+    // Contas com competência anterior a esta (AAAAMM) estão vencidas; fixada no início para a execução retomada usar o mesmo corte.
+    @Column(name = "COMPETENCIA_LIMITE_EXECUCAO", nullable = false)
+    private Integer competenciaLimite;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "SITUACAO_EXECUCAO", nullable = false, length = 20)
+    private SituacaoExecucao situacao;
+
+    // Checkpoint da varredura: maior id de conta já distribuído em algum lote.
+    @Column(name = "ULTIMO_ID_AGENDADO_EXECUCAO", nullable = false)
+    private Long ultimoIdAgendado;
+
+    @Column(name = "LINHAS_EXECUCAO", nullable = false)
+    private Long linhasProcessadas;
+
+    @Column(name = "CONTAS_SINALIZADAS_EXECUCAO", nullable = false)
+    private Long contasSinalizadas;
+
+    @Column(name = "INICIADA_EM_EXECUCAO", nullable = false)
+    private Instant iniciadaEm;
+
+    @Column(name = "CONCLUIDA_EM_EXECUCAO")
+    private Instant concluidaEm;
+
+    // Instância que coordena a execução; nula quando ninguém a reservou.
+    @Column(name = "DONO_EXECUCAO", length = 64)
+    private String dono;
+
+    // Depois deste instante sem renovação, outra instância pode assumir a execução.
+    @Column(name = "RESERVADA_ATE_EXECUCAO")
+    private Instant reservadaAte;
+}
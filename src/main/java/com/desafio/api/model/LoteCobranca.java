@@ -0,0 +1,32 @@
+package com.desafio.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "TB_LOTE_COBRANCA")
+@Table(indexes = @Index(name = "IDX_LOTE_COBRANCA_EXECUCAO", columnList = "ID_EXECUCAO, CONCLUIDO_LOTE"))
+public class LoteCobranca {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_LOTE")
+    private Long id;
+
+    @Column(name = "ID_EXECUCAO", nullable = false)
+    private Long idExecucao;
+
+    // Faixa de ids (idInicial, idFinal] das contas do lote.
+    @Column(name = "ID_INICIAL_LOTE", nullable = false)
+    private Long idInicial;
+
+    @Column(name = "ID_FINAL_LOTE", nullable = false)
+    private Long idFinal;
+
+    @Column(name = "CONCLUIDO_LOTE", nullable = false)
+    private Boolean concluido;
+}
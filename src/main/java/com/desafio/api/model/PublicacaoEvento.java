@@ -0,0 +1,23 @@
+package com.desafio.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "TB_PUBLICACAO_EVENTO")
+public class PublicacaoEvento {
+
+    // Linha única: bloqueada durante cada publicação, para que só uma atribua posições por vez.
+    public static final Long ID_PUBLICACAO = 1L;
+
+    @Id
+    @Column(name = "ID_PUBLICACAO")
+    private Long id;
+
+    @Column(name = "ULTIMA_POSICAO_PUBLICACAO", nullable = false)
+    private Long ultimaPosicao;
+}
@@ -0,0 +1,35 @@
+package com.desafio.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "TB_RESUMO_COBRANCA")
+@Table(uniqueConstraints = @UniqueConstraint(name = "UK_RESUMO_COBRANCA_EXECUCAO_CLIENTE",
+        columnNames = {"ID_EXECUCAO", "CLIENTE_ID"}))
+public class ResumoCobranca {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_RESUMO_COBRANCA")
+    private Long id;
+
+    @Column(name = "ID_EXECUCAO", nullable = false)
+    private Long idExecucao;
+
+    @Column(name = "CLIENTE_ID", nullable = false)
+    private Long idCliente;
+
+    @Column(name = "QUANTIDADE_COBRANCA", nullable = false)
+    private Long quantidade;
+
+    @Column(name = "TOTAL_CENTAVOS_COBRANCA", nullable = false)
+    private Long totalCentavos;
+
+    @Column(name = "COMPETENCIA_ANTIGA_COBRANCA", nullable = false)
+    private Integer competenciaMaisAntiga;
+}
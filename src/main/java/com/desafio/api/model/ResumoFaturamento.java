@@ -0,0 +1,46 @@
+package com.desafio.api.model;
+
+import com.desafio.api.constants.SituacaoConta;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "TB_RESUMO_FATURAMENTO")
+@Table(uniqueConstraints = @UniqueConstraint(name = "UK_RESUMO_CLIENTE_COMPETENCIA_SITUACAO",
+        columnNames = {"CLIENTE_ID", "COMPETENCIA_RESUMO", "SITUACAO_RESUMO"}),
+        indexes = @Index(name = "IDX_RESUMO_COMPETENCIA_SITUACAO", columnList = "COMPETENCIA_RESUMO, SITUACAO_RESUMO"))
+public class ResumoFaturamento {
+
+    // O total geral é mantido em faixas (CLIENTE_ID de -1 a -16), escolhidas pelo id do cliente e somadas na
+    // leitura: uma linha geral única seria atualizada por toda gravação de conta e as serializaria.
+    public static final int FAIXAS_TOTAL_GERAL = 16;
+
+    public static Long idFaixaTotalGeral(Long idCliente) {
+        return -1L - Math.floorMod(idCliente, FAIXAS_TOTAL_GERAL);
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_RESUMO_FATURAMENTO")
+    @SequenceGenerator(name = "SEQ_RESUMO_FATURAMENTO", sequenceName = "SEQ_RESUMO_FATURAMENTO", allocationSize = 50)
+    @Column(name = "ID_RESUMO")
+    private Long id;
+
+    @Column(name = "CLIENTE_ID", nullable = false)
+    private Long idCliente;
+
+    @Column(name = "COMPETENCIA_RESUMO", nullable = false)
+    private Integer competencia;
+
+    @Column(name = "SITUACAO_RESUMO", nullable = false)
+    private SituacaoConta situacao;
+
+    @Column(name = "QUANTIDADE_RESUMO", nullable = false)
+    private Long quantidade;
+
+    @Column(name = "TOTAL_CENTAVOS_RESUMO", nullable = false)
+    private Long totalCentavos;
+}
@@ -0,0 +1,33 @@
+package com.desafio.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "TB_REVISAO_CLIENTE")
+public class RevisaoCliente {
+
+    // A revisão da lista de clientes é dividida em faixas (CLIENTE_ID de -1 a -16), somadas na leitura, para que
+    // cadastros e alterações de clientes diferentes não disputem a mesma linha.
+    public static final int FAIXAS_LISTA_CLIENTES = 16;
+
+    public static Long idFaixaListaClientes(Long idCliente) {
+        return -1L - Math.floorMod(idCliente, FAIXAS_LISTA_CLIENTES);
+    }
+
+    @Id
+    @Column(name = "CLIENTE_ID")
+    private Long idCliente;
+
+    @Column(name = "NUMERO_REVISAO", nullable = false)
+    private Long numero;
+
+    @Column(name = "ALTERADO_EM_REVISAO", nullable = false)
+    private Instant alteradoEm;
+}
@@ -1,12 +1,92 @@
 package com.desafio.api.repository;
 
+import com.desafio.api.dtos.ChaveClienteDTO;
 import com.desafio.api.model.Cliente;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, JpaSpecificationExecutor<Cliente> {
 
     boolean existsByCpf(String cpf);
     boolean existsByEmail(String email);
+
+    @Query("SELECT c.cpf FROM tb_cliente c WHERE c.cpf = :cpf OR c.emailBusca = :emailBusca")
+    List<String> buscarCpfsConflitantes(@Param("cpf") String cpf, @Param("emailBusca") String emailBusca);
+
+    @Query("SELECT new com.desafio.api.dtos.ChaveClienteDTO(c.id, c.cpf, c.email) FROM tb_cliente c WHERE c.id > :id ORDER BY c.id")
+    List<ChaveClienteDTO> buscarChavesAposId(@Param("id") Long id, Limit limite);
+
+    List<Cliente> findAllByOrderByNomeAscIdAsc(Limit limite);
+
+    // Comparação de tupla: o PostgreSQL a resolve como uma única faixa do índice (NOME_CLIENTE, ID_CLIENTE).
+    @Query("SELECT c FROM tb_cliente c WHERE (c.nome, c.id) > (:nome, :id) ORDER BY c.nome ASC, c.id ASC")
+    List<Cliente> buscarPaginaAposCursor(@Param("nome") String nome, @Param("id") Long id, Limit limite);
+
+    // Todos os prefixos informados entram no WHERE, para que o LIMIT valha sobre a combinação dos critérios;
+    // a ordenação escolhe o índice que conduz a busca.
+    default List<Cliente> buscarPorPrefixos(String prefixoNome, String prefixoCpf, String prefixoEmail, Sort ordem, int limite) {
+        Specification<Cliente> criterios = Specification.allOf(prefixo("nomeBusca", prefixoNome), prefixo("cpf", prefixoCpf),
+                prefixo("emailBusca", prefixoEmail));
+
+        return findBy(criterios, consulta -> consulta.sortBy(ordem).limit(limite).all());
+    }
+
+    // Mesmo LIKE 'prefixo%' do StartingWith, com % e _ escapados (comuns em emails).
+    private static Specification<Cliente> prefixo(String atributo, String valor) {
+        if (valor == null) {
+            return null;
+        }
+
+        String padrao = valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (raiz, consulta, criterio) -> criterio.like(raiz.get(atributo), padrao, '\\');
+    }
+
+    @Query("SELECT c.id FROM tb_cliente c WHERE c.id > :id ORDER BY c.id")
+    List<Long> buscarIdsAposId(@Param("id") Long id, Limit limite);
+
+    // Gravações nos resumos de faturamento seguram o cliente compartilhado; a reconstrução o segura exclusivo.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c.id FROM tb_cliente c WHERE c.id IN :ids ORDER BY c.id")
+    List<Long> bloquearCompartilhado(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM tb_cliente c WHERE c.id = :id")
+    Optional<Long> bloquearExclusivo(@Param("id") Long id);
+
+    @Query("SELECT c.versao FROM tb_cliente c WHERE c.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE tb_cliente c SET c.versao = c.versao + 1 WHERE c.id = :id AND c.versao = :versao")
+    int incrementarVersao(@Param("id") Long id, @Param("versao") Long versao);
+
+    // Sem versão esperada (If-Match ausente ou "*"), grava sobre qualquer versão.
+    @Modifying
+    @Query("UPDATE tb_cliente c SET c.nome = :nome, c.nomeBusca = :nomeBusca, c.email = :email, c.emailBusca = :emailBusca, " +
+            "c.cpf = :cpf, c.versao = c.versao + 1 WHERE c.id = :id AND (:versao IS NULL OR c.versao = :versao)")
+    int atualizarSeVersao(@Param("id") Long id,
+                          @Param("versao") Long versao,
+                          @Param("nome") String nome,
+                          @Param("nomeBusca") String nomeBusca,
+                          @Param("email") String email,
+                          @Param("emailBusca") String emailBusca,
+                          @Param("cpf") String cpf);
+
+    @Modifying
+    @Query("DELETE FROM tb_cliente c WHERE c.id = :id")
+    int removerPorId(@Param("id") Long id);
 }
@@ -1,12 +1,99 @@
 package com.desafio.api.repository;
 
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.AgregadoContaDTO;
+import com.desafio.api.dtos.ContaResumoDTO;
+import com.desafio.api.dtos.ContaSituacaoDTO;
 import com.desafio.api.model.Conta;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ContaRepository extends JpaRepository<Conta, Long> {
     List<Conta> findByClienteId(Long idCliente);
+
+    List<Conta> findByClienteIdAndCompetenciaBetweenOrderByCompetenciaAscIdAsc(Long idCliente, Integer inicio, Integer fim);
+
+    @Query(value = "SELECT new com.desafio.api.dtos.ContaResumoDTO(c.id, c.referencia, c.valor, c.situacao) FROM TB_CONTA c " +
+            "WHERE c.cliente.id = :idCliente AND c.situacao IN :situacoes AND c.competencia BETWEEN :inicio AND :fim " +
+            "ORDER BY c.competencia, c.id",
+            countQuery = "SELECT COUNT(c) FROM TB_CONTA c " +
+                    "WHERE c.cliente.id = :idCliente AND c.situacao IN :situacoes AND c.competencia BETWEEN :inicio AND :fim")
+    Page<ContaResumoDTO> buscarResumosPorCliente(@Param("idCliente") Long idCliente,
+                                                 @Param("situacoes") Collection<SituacaoConta> situacoes,
+                                                 @Param("inicio") Integer inicio,
+                                                 @Param("fim") Integer fim,
+                                                 Pageable paginacao);
+
+    @Query("SELECT new com.desafio.api.dtos.AgregadoContaDTO(c.cliente.id, c.competencia, c.situacao, COUNT(c), SUM(c.valor)) " +
+            "FROM TB_CONTA c WHERE c.cliente.id = :idCliente GROUP BY c.cliente.id, c.competencia, c.situacao")
+    List<AgregadoContaDTO> agregarPorCompetenciaSituacao(@Param("idCliente") Long idCliente);
+
+    @Query("SELECT c.id FROM TB_CONTA c WHERE c.id > :ultimoId " +
+            "AND (:idCliente IS NULL OR c.cliente.id = :idCliente) " +
+            "AND (:competencia IS NULL OR c.competencia = :competencia) " +
+            "AND c.situacao IN :situacoes ORDER BY c.id")
+    List<Long> buscarIdsAposId(@Param("ultimoId") Long ultimoId,
+                               @Param("idCliente") Long idCliente,
+                               @Param("competencia") Integer competencia,
+                               @Param("situacoes") Collection<SituacaoConta> situacoes,
+                               Limit limite);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.desafio.api.dtos.ContaSituacaoDTO(c.id, c.cliente.id, c.competencia, c.situacao, c.valor) " +
+            "FROM TB_CONTA c WHERE c.id IN :ids ORDER BY c.id")
+    List<ContaSituacaoDTO> bloquearSituacoes(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE TB_CONTA c SET c.situacao = :situacao, c.versao = c.versao + 1 WHERE c.id IN :ids")
+    int alterarSituacao(@Param("ids") Collection<Long> ids, @Param("situacao") SituacaoConta situacao);
+
+    @Modifying
+    @Query("UPDATE TB_CONTA c SET c.referencia = :referencia, c.competencia = :competencia, c.valor = :valor, " +
+            "c.situacao = :situacao, c.versao = c.versao + 1 WHERE c.id = :id AND c.versao = :versao")
+    int atualizarSeVersao(@Param("id") Long id,
+                          @Param("versao") Long versao,
+                          @Param("referencia") String referencia,
+                          @Param("competencia") Integer competencia,
+                          @Param("valor") BigDecimal valor,
+                          @Param("situacao") SituacaoConta situacao);
+
+    @Query("SELECT c.id FROM TB_CONTA c WHERE c.id > :ultimoId AND c.situacao = :situacao " +
+            "AND c.competencia < :competenciaLimite ORDER BY c.id")
+    List<Long> buscarIdsVencidosAposId(@Param("ultimoId") Long ultimoId,
+                                       @Param("situacao") SituacaoConta situacao,
+                                       @Param("competenciaLimite") Integer competenciaLimite,
+                                       Limit limite);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.desafio.api.dtos.ContaSituacaoDTO(c.id, c.cliente.id, c.competencia, c.situacao, c.valor) " +
+            "FROM TB_CONTA c WHERE c.id > :idInicial AND c.id <= :idFinal AND c.situacao = :situacao " +
+            "AND c.competencia < :competenciaLimite ORDER BY c.id")
+    List<ContaSituacaoDTO> bloquearVencidasEntre(@Param("idInicial") Long idInicial,
+                                                 @Param("idFinal") Long idFinal,
+                                                 @Param("situacao") SituacaoConta situacao,
+                                                 @Param("competenciaLimite") Integer competenciaLimite);
+
+    @Query("SELECT c.id FROM TB_CONTA c WHERE c.id IN :ids AND c.emAtraso = false")
+    List<Long> buscarIdsSemAtraso(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE TB_CONTA c SET c.emAtraso = true, c.versao = c.versao + 1 WHERE c.id IN :ids AND c.emAtraso = false")
+    int sinalizarEmAtraso(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM TB_CONTA c WHERE c.id IN :ids")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,31 @@
+package com.desafio.api.repository;
+
+import com.desafio.api.model.EventoAlteracao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EventoAlteracaoRepository extends JpaRepository<EventoAlteracao, Long> {
+
+    @Query("SELECT e FROM TB_EVENTO_ALTERACAO e WHERE e.posicao > :apos ORDER BY e.posicao")
+    List<EventoAlteracao> buscarAposPosicao(@Param("apos") Long apos, Limit limite);
+
+    @Query("SELECT e.id FROM TB_EVENTO_ALTERACAO e WHERE e.posicao IS NULL ORDER BY e.id")
+    List<Long> buscarIdsNaoPublicados(Limit limite);
+
+    @Query("SELECT COALESCE(MAX(e.posicao), 0) FROM TB_EVENTO_ALTERACAO e")
+    Long buscarMaiorPosicao();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TB_EVENTO_ALTERACAO e WHERE e.criadoEm < :limite AND e.posicao IS NOT NULL")
+    int removerAnterioresA(@Param("limite") Instant limite);
+}
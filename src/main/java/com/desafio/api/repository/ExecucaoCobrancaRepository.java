@@ -0,0 +1,47 @@
+package com.desafio.api.repository;
+
+import com.desafio.api.constants.SituacaoExecucao;
+import com.desafio.api.model.ExecucaoCobranca;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface ExecucaoCobrancaRepository extends JpaRepository<ExecucaoCobranca, Long> {
+
+    Optional<ExecucaoCobranca> findFirstBySituacaoOrderByIdAsc(SituacaoExecucao situacao);
+
+    // Vale se ninguém reservou a execução, se a reserva já é desta instância ou se ela venceu.
+    @Modifying
+    @Query("UPDATE TB_EXECUCAO_COBRANCA e SET e.dono = :dono, e.reservadaAte = :reservadaAte WHERE e.id = :id " +
+            "AND e.situacao = :situacao AND (e.dono IS NULL OR e.dono = :dono OR e.reservadaAte < :agora)")
+    int reservar(@Param("id") Long id, @Param("situacao") SituacaoExecucao situacao, @Param("dono") String dono,
+                 @Param("agora") Instant agora, @Param("reservadaAte") Instant reservadaAte);
+
+    // Renova a reserva junto com o checkpoint; devolve 0 se outra instância assumiu a execução.
+    @Modifying
+    @Query("UPDATE TB_EXECUCAO_COBRANCA e SET e.ultimoIdAgendado = :ultimoId, e.reservadaAte = :reservadaAte " +
+            "WHERE e.id = :id AND e.dono = :dono")
+    int registrarAgendamento(@Param("id") Long id, @Param("dono") String dono, @Param("ultimoId") Long ultimoId,
+                             @Param("reservadaAte") Instant reservadaAte);
+
+    @Modifying
+    @Query("UPDATE TB_EXECUCAO_COBRANCA e SET e.dono = NULL, e.reservadaAte = NULL WHERE e.id = :id AND e.dono = :dono")
+    int liberar(@Param("id") Long id, @Param("dono") String dono);
+
+    @Modifying
+    @Query("UPDATE TB_EXECUCAO_COBRANCA e SET e.linhasProcessadas = e.linhasProcessadas + :linhas, " +
+            "e.contasSinalizadas = e.contasSinalizadas + :sinalizadas WHERE e.id = :id")
+    int somarProgresso(@Param("id") Long id, @Param("linhas") long linhas, @Param("sinalizadas") long sinalizadas);
+
+    @Modifying
+    @Query("UPDATE TB_EXECUCAO_COBRANCA e SET e.situacao = :situacao, e.concluidaEm = :concluidaEm, e.dono = NULL, " +
+            "e.reservadaAte = NULL WHERE e.id = :id AND e.dono = :dono")
+    int concluir(@Param("id") Long id, @Param("dono") String dono, @Param("situacao") SituacaoExecucao situacao,
+                 @Param("concluidaEm") Instant concluidaEm);
+}
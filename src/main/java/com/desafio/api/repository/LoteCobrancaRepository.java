@@ -0,0 +1,24 @@
+package com.desafio.api.repository;
+
+import com.desafio.api.model.LoteCobranca;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LoteCobrancaRepository extends JpaRepository<LoteCobranca, Long> {
+
+    List<LoteCobranca> findByIdExecucaoAndConcluidoFalseOrderByIdInicialAsc(Long idExecucao);
+
+    @Modifying
+    @Query("UPDATE TB_LOTE_COBRANCA l SET l.concluido = true WHERE l.id = :id AND l.concluido = false")
+    int concluir(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM TB_LOTE_COBRANCA l WHERE l.idExecucao = :idExecucao")
+    int removerPorExecucao(@Param("idExecucao") Long idExecucao);
+}
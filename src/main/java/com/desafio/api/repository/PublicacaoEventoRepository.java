@@ -0,0 +1,25 @@
+package com.desafio.api.repository;
+
+import com.desafio.api.model.PublicacaoEvento;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PublicacaoEventoRepository extends JpaRepository<PublicacaoEvento, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM TB_PUBLICACAO_EVENTO p WHERE p.id = :id")
+    Optional<PublicacaoEvento> bloquear(@Param("id") Long id);
+
+    // Cria a linha na transação atual; se outra transação já a criou, não faz nada.
+    @Modifying
+    @Query("INSERT INTO TB_PUBLICACAO_EVENTO (id, ultimaPosicao) VALUES (:id, :ultimaPosicao) ON CONFLICT DO NOTHING")
+    int criarSeAusente(@Param("id") Long id, @Param("ultimaPosicao") Long ultimaPosicao);
+}
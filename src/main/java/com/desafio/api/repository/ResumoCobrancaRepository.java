@@ -0,0 +1,27 @@
+package com.desafio.api.repository;
+
+import com.desafio.api.model.ResumoCobranca;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResumoCobrancaRepository extends JpaRepository<ResumoCobranca, Long> {
+
+    @Modifying
+    @Query("UPDATE TB_RESUMO_COBRANCA r SET r.quantidade = r.quantidade + :quantidade, r.totalCentavos = r.totalCentavos + :totalCentavos, " +
+            "r.competenciaMaisAntiga = LEAST(r.competenciaMaisAntiga, :competencia) " +
+            "WHERE r.idExecucao = :idExecucao AND r.idCliente = :idCliente")
+    int somar(@Param("idExecucao") Long idExecucao,
+              @Param("idCliente") Long idCliente,
+              @Param("quantidade") Long quantidade,
+              @Param("totalCentavos") Long totalCentavos,
+              @Param("competencia") Integer competencia);
+
+    @Query("SELECT r FROM TB_RESUMO_COBRANCA r WHERE r.idExecucao = :idExecucao ORDER BY r.totalCentavos DESC, r.idCliente")
+    Page<ResumoCobranca> buscarPorExecucao(@Param("idExecucao") Long idExecucao, Pageable paginacao);
+}
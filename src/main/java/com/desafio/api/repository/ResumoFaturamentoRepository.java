@@ -0,0 +1,55 @@
+package com.desafio.api.repository;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.TotalCentavosDTO;
+import com.desafio.api.model.ResumoFaturamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ResumoFaturamentoRepository extends JpaRepository<ResumoFaturamento, Long> {
+
+    @Modifying
+    @Query("UPDATE TB_RESUMO_FATURAMENTO r SET r.quantidade = r.quantidade + :quantidade, r.totalCentavos = r.totalCentavos + :totalCentavos " +
+            "WHERE r.idCliente = :idCliente AND r.competencia = :competencia AND r.situacao = :situacao")
+    int somar(@Param("idCliente") Long idCliente,
+              @Param("competencia") Integer competencia,
+              @Param("situacao") SituacaoConta situacao,
+              @Param("quantidade") Long quantidade,
+              @Param("totalCentavos") Long totalCentavos);
+
+    // Cria a linha zerada na transação atual; se outra transação já a criou, não faz nada.
+    @Modifying
+    @Query("INSERT INTO TB_RESUMO_FATURAMENTO (idCliente, competencia, situacao, quantidade, totalCentavos) " +
+            "VALUES (:idCliente, :competencia, :situacao, 0, 0) ON CONFLICT DO NOTHING")
+    int criarSeAusente(@Param("idCliente") Long idCliente,
+                       @Param("competencia") Integer competencia,
+                       @Param("situacao") SituacaoConta situacao);
+
+    @Query("SELECT r FROM TB_RESUMO_FATURAMENTO r WHERE r.idCliente = :idCliente " +
+            "AND r.competencia BETWEEN :inicio AND :fim ORDER BY r.competencia, r.situacao")
+    List<ResumoFaturamento> buscarPorPeriodo(@Param("idCliente") Long idCliente,
+                                             @Param("inicio") Integer inicio,
+                                             @Param("fim") Integer fim);
+
+    List<ResumoFaturamento> findByIdCliente(Long idCliente);
+
+    // Só as faixas do total geral (CLIENTE_ID negativo): no máximo FAIXAS_TOTAL_GERAL linhas por mês e situação.
+    @Query("SELECT new com.desafio.api.dtos.TotalCentavosDTO(r.competencia, r.situacao, SUM(r.quantidade), SUM(r.totalCentavos)) " +
+            "FROM TB_RESUMO_FATURAMENTO r WHERE r.idCliente < 0 AND r.competencia BETWEEN :inicio AND :fim " +
+            "GROUP BY r.competencia, r.situacao ORDER BY r.competencia, r.situacao")
+    List<TotalCentavosDTO> somarPorPeriodo(@Param("inicio") Integer inicio, @Param("fim") Integer fim);
+
+    @Modifying
+    @Query("DELETE FROM TB_RESUMO_FATURAMENTO r WHERE r.idCliente = :idCliente")
+    int removerPorCliente(@Param("idCliente") Long idCliente);
+
+    @Query("SELECT r FROM TB_RESUMO_FATURAMENTO r WHERE r.idCliente > 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM tb_cliente c WHERE c.id = r.idCliente)")
+    List<ResumoFaturamento> buscarSemCliente();
+}
@@ -0,0 +1,32 @@
+package com.desafio.api.repository;
+
+import com.desafio.api.model.RevisaoCliente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RevisaoClienteRepository extends JpaRepository<RevisaoCliente, Long> {
+
+    @Modifying
+    @Query("UPDATE TB_REVISAO_CLIENTE r SET r.numero = r.numero + 1, r.alteradoEm = :alteradoEm WHERE r.idCliente IN :idsClientes")
+    int incrementar(@Param("idsClientes") Collection<Long> idsClientes, @Param("alteradoEm") Instant alteradoEm);
+
+    // Cria a linha na transação atual; se outra transação já a criou, não faz nada.
+    @Modifying
+    @Query("INSERT INTO TB_REVISAO_CLIENTE (idCliente, numero, alteradoEm) VALUES (:idCliente, 0, :alteradoEm) ON CONFLICT DO NOTHING")
+    int criarSeAusente(@Param("idCliente") Long idCliente, @Param("alteradoEm") Instant alteradoEm);
+
+    @Query("SELECT new com.desafio.api.model.RevisaoCliente(MAX(r.idCliente), SUM(r.numero), MAX(r.alteradoEm)) " +
+            "FROM TB_REVISAO_CLIENTE r WHERE r.idCliente < 0")
+    RevisaoCliente somarFaixasListaClientes();
+
+    @Query("SELECT r.idCliente FROM TB_REVISAO_CLIENTE r WHERE r.idCliente IN :idsClientes")
+    List<Long> buscarExistentes(@Param("idsClientes") Collection<Long> idsClientes);
+}
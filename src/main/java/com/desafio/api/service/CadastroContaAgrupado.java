@@ -0,0 +1,226 @@
+package com.desafio.api.service;
+
+import com.desafio.api.config.ContextoRoteamento;
+import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.model.Conta;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Group commit do cadastro de contas: requisições concorrentes são enfileiradas e gravadas juntas em uma
+// transação quando o lote enche ou o atraso máximo expira. A validação também roda na thread gravadora:
+// com open-in-view, quem lê o banco segura a conexão até o fim da requisição, e as requisições paradas
+// na fila esgotariam o pool que o gravador precisa.
+@Component
+public class CadastroContaAgrupado {
+
+    private static final Logger log = LoggerFactory.getLogger(CadastroContaAgrupado.class);
+
+    private BlockingQueue<Pedido> fila;
+    private Thread gravador;
+    private volatile boolean ativo;
+    private DistributionSummary tamanhoLotes;
+
+    public ContaDTO cadastrar(Long idCliente, ContaDTO contaDTO) {
+        if (!habilitado) {
+            return contaService.cadastrarConta(idCliente, contaDTO);
+        }
+
+        Pedido pedido = new Pedido(idCliente, contaDTO, new CompletableFuture<>());
+
+        if (!ativo || !fila.offer(pedido)) {
+            // Fila cheia ou encerrando: grava sozinho em vez de esperar por espaço.
+            return contaService.cadastrarConta(idCliente, contaDTO);
+        }
+
+        // O gravador pode ter feito a última coleta entre a verificação de ativo e o offer. Se o pedido
+        // ainda está na fila depois do encerramento, ninguém mais o retira: grava sozinho.
+        if (!ativo && fila.remove(pedido)) {
+            return contaService.cadastrarConta(idCliente, contaDTO);
+        }
+
+        try {
+            ContaDTO cadastrada = pedido.resultado().join();
+            // A gravação foi feita pela thread do gravador: a requisição passa a ler da primária como se tivesse gravado.
+            ContextoRoteamento.fixarPrimariaNaRequisicao();
+            return cadastrada;
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+
+        fila = new LinkedBlockingQueue<>(tamanhoLote * 10);
+        tamanhoLotes = DistributionSummary.builder("contas.agrupamento.lote")
+                .description("Contas gravadas por transação no cadastro agrupado")
+                .register(meterRegistry);
+
+        ativo = true;
+        gravador = new Thread(this::executar, "cadastro-conta-agrupado");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    // Sem interromper a thread: um lote em gravação termina e os pedidos já enfileirados ainda são gravados.
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        if (gravador == null) {
+            return;
+        }
+
+        ativo = false;
+        gravador.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void executar() {
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+
+        try {
+            while (ativo || !fila.isEmpty()) {
+                try {
+                    coletar(lote);
+                } catch (InterruptedException ex) {
+                    ativo = false;
+                    fila.drainTo(lote, tamanhoLote - lote.size());
+                }
+
+                if (!lote.isEmpty()) {
+                    gravarOuFalhar(lote);
+                    lote.clear();
+                }
+            }
+
+            // Pedido que entrou na fila enquanto a thread encerrava.
+            fila.drainTo(lote);
+
+            if (!lote.isEmpty()) {
+                gravarOuFalhar(lote);
+            }
+        } finally {
+            // Se a thread morrer por um Error, os pedidos ainda na fila não seriam atendidos.
+            ativo = false;
+            List<Pedido> restantes = new ArrayList<>();
+            fila.drainTo(restantes);
+            restantes.forEach(pedido -> pedido.resultado().completeExceptionally(
+                    new IllegalStateException("O cadastro agrupado foi encerrado antes de gravar a conta.")));
+        }
+    }
+
+    // Uma falha fora do tratamento de gravar não pode deixar as requisições do lote esperando para sempre.
+    // Com um Error a thread termina, e o finally de executar libera quem ainda está na fila.
+    private void gravarOuFalhar(List<Pedido> lote) {
+        try {
+            gravar(lote);
+        } catch (RuntimeException ex) {
+            log.error("Falha inesperada ao gravar lote de {} contas", lote.size(), ex);
+            lote.forEach(pedido -> pedido.resultado().completeExceptionally(ex));
+        } catch (Error erro) {
+            lote.forEach(pedido -> pedido.resultado().completeExceptionally(erro));
+            throw erro;
+        }
+    }
+
+    // Espera o primeiro pedido e, a partir dele, no máximo atrasoMaximoMs pelos demais.
+    private void coletar(List<Pedido> lote) throws InterruptedException {
+        Pedido primeiro = fila.poll(1, TimeUnit.SECONDS);
+
+        if (primeiro == null) {
+            return;
+        }
+
+        lote.add(primeiro);
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(atrasoMaximoMs);
+
+        while (lote.size() < tamanhoLote) {
+            if (fila.drainTo(lote, tamanhoLote - lote.size()) > 0) {
+                continue;
+            }
+
+            long restante = limite - System.nanoTime();
+            Pedido proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : null;
+
+            if (proximo == null) {
+                return;
+            }
+            lote.add(proximo);
+        }
+    }
+
+    void gravar(List<Pedido> lote) {
+        List<Pedido> validos = new ArrayList<>(lote.size());
+        List<Conta> contas = new ArrayList<>(lote.size());
+
+        for (Pedido pedido : lote) {
+            try {
+                contas.add(contaService.prepararConta(pedido.idCliente(), pedido.dados()));
+                validos.add(pedido);
+            } catch (RuntimeException ex) {
+                pedido.resultado().completeExceptionally(ex);
+            }
+        }
+
+        if (contas.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Conta> salvas = contaService.cadastrarContas(contas);
+            tamanhoLotes.record(salvas.size());
+
+            for (int i = 0; i < validos.size(); i++) {
+                validos.get(i).resultado().complete(salvas.get(i).toDTO());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao gravar lote de {} contas; gravando individualmente", validos.size(), ex);
+
+            // Uma falha de gravação não pode derrubar os outros pedidos: cada um refaz o cadastro na sua transação.
+            for (Pedido pedido : validos) {
+                try {
+                    pedido.resultado().complete(contaService.cadastrarConta(pedido.idCliente(), pedido.dados()));
+                } catch (RuntimeException erro) {
+                    pedido.resultado().completeExceptionally(erro);
+                }
+            }
+        }
+    }
+
+    record Pedido(Long idCliente, ContaDTO dados, CompletableFuture<ContaDTO> resultado) {
+    }
+
+    @Value("${contas.agrupamento.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${contas.agrupamento.atraso-maximo-ms:5}")
+    private long atrasoMaximoMs;
+
+    @Value("${contas.agrupamento.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+}
@@ -1,73 +1,296 @@
 package com.desafio.api.service;
 
 import ch.qos.logback.core.net.server.Client;
+import com.desafio.api.config.CacheConfig;
+import com.desafio.api.config.ContextoRoteamento;
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.constants.TipoEvento;
 import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.PaginaCursorDTO;
+import com.desafio.api.dtos.ResultadoExclusaoClienteDTO;
 import com.desafio.api.exception.ConsultaInvalidaException;
 import com.desafio.api.exception.CpfJaCadastradoException;
+import com.desafio.api.exception.VersaoConflitanteException;
 import com.desafio.api.model.Cliente;
 import com.desafio.api.repository.ClienteRepository;
+import com.desafio.api.repository.ContaRepository;
+import com.desafio.api.util.TextoUtil;
+import com.desafio.api.util.VersaoUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
+@Timed(value = "servico.clientes", histogram = true)
 public class ClienteService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA_CURSOR = 1000;
+
+    private static final int TAMANHO_MAXIMO_BUSCA = 100;
+
+    private static final EnumSet<SituacaoConta> SITUACOES = EnumSet.allOf(SituacaoConta.class);
+
+    @Transactional
     public ClienteDTO cadastrarCliente(ClienteDTO clienteDTO){
 
         validarCliente(clienteDTO);
 
         Cliente cliente = clienteDTO.toModal();
 
-        return clienteRepository.save(cliente).toDTO();
+        ClienteDTO cadastrado = gravarUnico(() -> clienteRepository.save(cliente)).toDTO();
+        indiceUnicidadeCliente.registrar(cadastrado.getCpf(), cadastrado.getEmail());
+        revisaoClienteService.registrarAlteracaoListaClientes(cadastrado.getId());
+        eventoAlteracaoService.registrar(TipoEvento.CLIENTE_CRIADO, cadastrado.getId(), cadastrado.getId(), cadastrado);
+
+        return cadastrado;
     }
 
+    // O resultado vai para o cache: lido da primária para que uma réplica atrasada não devolva ao cache
+    // um cliente que acabou de ser removido ou alterado.
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_CLIENTES, key = "#id")
     public ClienteDTO buscarClientePorId(Long id){
 
-        Cliente cliente = clienteRepository.findById(id)
+        Cliente cliente = ContextoRoteamento.naPrimaria(() -> clienteRepository.findById(id))
                 .orElseThrow(() -> new ConsultaInvalidaException("Não foi encontrado cliente para esse ID: " + id));
 
         return cliente.toDTO();
     }
 
-    public ClienteDTO atualizarCliente(Long id, ClienteDTO dadosCliente) {
+    // Um único UPDATE condicionado à versão: quando nenhuma linha muda, o cliente não existe (400) ou foi
+    // alterado por outra requisição depois da versão informada (412).
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.CACHE_CLIENTES, key = "#id")
+    public ClienteDTO atualizarCliente(Long id, ClienteDTO dadosCliente, Long versaoEsperada) {
+
+        int atualizados = gravarUnico(() -> clienteRepository.atualizarSeVersao(id, versaoEsperada,
+                dadosCliente.getNome(), TextoUtil.normalizar(dadosCliente.getNome()),
+                dadosCliente.getEmail(), TextoUtil.normalizar(dadosCliente.getEmail()), dadosCliente.getCpf()));
 
-        Cliente cliente = clienteRepository.findById(id)
+        if (atualizados == 0) {
+            Long versao = clienteRepository.buscarVersao(id)
+                    .orElseThrow(() -> new ConsultaInvalidaException("Não foi encontrado cliente para esse ID: " + id));
+
+            throw new VersaoConflitanteException("O registro foi alterado por outra requisição. Versão atual: " + versao);
+        }
+
+        Cliente salvo = clienteRepository.findById(id)
                 .orElseThrow(() -> new ConsultaInvalidaException("Não foi encontrado cliente para esse ID: " + id));
+        indiceUnicidadeCliente.registrar(salvo.getCpf(), salvo.getEmail());
+        revisaoClienteService.registrarAlteracaoCliente(id);
 
-        cliente.setNome(dadosCliente.getNome());
-        cliente.setEmail(dadosCliente.getEmail());
-        cliente.setCpf(dadosCliente.getCpf());
+        ClienteDTO atualizado = salvo.toDTO();
+        eventoAlteracaoService.registrar(TipoEvento.CLIENTE_ATUALIZADO, id, id, atualizado);
 
-        clienteRepository.save(cliente);
-        return cliente.toDTO();
+        return atualizado;
     }
 
-    public void deletarCliente(Long id){
+    // Remove as contas em lotes com DELETE por conjunto de IDs, sem carregar a coleção do cliente.
+    // A versão é conferida e incrementada antes do primeiro lote: um pedido desatualizado não remove nenhuma conta,
+    // e quem ainda tiver a versão anterior recebe 412. Lotes cheios são confirmados um a um; o último lote e o
+    // cliente são removidos na mesma transação, e essa etapa final pode ser repetida sem efeito duplicado.
+    @CacheEvict(cacheNames = CacheConfig.CACHE_CLIENTES, key = "#id")
+    public ResultadoExclusaoClienteDTO deletarCliente(Long id, Long versaoEsperada){
 
-        Cliente cliente = clienteRepository.findById(id)
+        Long versao = clienteRepository.buscarVersao(id)
                 .orElseThrow(() -> new ConsultaInvalidaException("Não foi encontrado cliente para esse ID: " + id));
 
-        clienteRepository.deleteById(id);
+        VersaoUtil.verificar(versaoEsperada, versao);
+
+        if (transactionTemplate.execute(status -> clienteRepository.incrementarVersao(id, versao)) == 0) {
+            throw new VersaoConflitanteException("O cliente foi alterado por outra requisição. Nenhuma conta foi removida.");
+        }
+
+        ResultadoExclusaoClienteDTO resultado = new ResultadoExclusaoClienteDTO(id, 0, 0);
+        boolean concluido;
+
+        do {
+            concluido = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                int removidas = removerLoteContas(id);
+
+                resultado.setContasRemovidas(resultado.getContasRemovidas() + removidas);
+                resultado.setLotes(resultado.getLotes() + 1);
+
+                if (removidas == tamanhoLoteExclusao) {
+                    return false;
+                }
+
+                // Outra exclusão do mesmo cliente já terminou; o resumo, a revisão e o evento já foram registrados.
+                if (clienteRepository.removerPorId(id) == 0) {
+                    return true;
+                }
+
+                resumoFaturamentoService.removerCliente(id);
+                revisaoClienteService.registrarAlteracaoCliente(id);
+                eventoAlteracaoService.registrar(TipoEvento.CLIENTE_REMOVIDO, id, id, resultado);
+                return true;
+            }));
+        } while (!concluido);
+
+        return resultado;
     }
 
+    private int removerLoteContas(Long idCliente){
+        List<Long> ids = contaRepository.buscarIdsAposId(0L, idCliente, null, SITUACOES, Limit.of(tamanhoLoteExclusao));
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        resumoFaturamentoService.registrarExclusoes(contaRepository.bloquearSituacoes(ids));
+        return contaRepository.removerPorIds(ids);
+    }
+
+    @Transactional(readOnly = true)
     public Page<ClienteDTO> listarClientes(Pageable paginacao){
         return clienteRepository.findAll(paginacao).map(Cliente::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<ClienteDTO> listarClientesPorCursor(String cursor, int tamanho){
+
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA_CURSOR){
+            throw new ConsultaInvalidaException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA_CURSOR + ".");
+        }
+
+        Limit limite = Limit.of(tamanho + 1);
+        List<Cliente> clientes;
+
+        if (cursor == null || cursor.isBlank()){
+            clientes = clienteRepository.findAllByOrderByNomeAscIdAsc(limite);
+        } else {
+            Cliente ultimo = decodificarCursor(cursor);
+            clientes = clienteRepository.buscarPaginaAposCursor(ultimo.getNome(), ultimo.getId(), limite);
+        }
+
+        String proximoCursor = null;
+
+        if (clientes.size() > tamanho){
+            clientes = clientes.subList(0, tamanho);
+            proximoCursor = codificarCursor(clientes.get(tamanho - 1));
+        }
+
+        return new PaginaCursorDTO<>(clientes.stream().map(Cliente::toDTO).toList(), proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClienteDTO> buscarClientes(String nome, String cpf, String email, int tamanho){
+
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_BUSCA){
+            throw new ConsultaInvalidaException("O tamanho da busca deve estar entre 1 e " + TAMANHO_MAXIMO_BUSCA + ".");
+        }
+
+        String prefixoNome = vazioParaNulo(TextoUtil.normalizar(nome));
+        String prefixoCpf = vazioParaNulo(cpf == null ? null : cpf.trim());
+        String prefixoEmail = vazioParaNulo(TextoUtil.normalizar(email));
+
+        if (prefixoNome == null && prefixoCpf == null && prefixoEmail == null){
+            throw new ConsultaInvalidaException("Informe ao menos um critério de busca: nome, cpf ou email.");
+        }
+
+        // O critério mais seletivo (CPF, depois email, depois nome) conduz a busca pelo seu índice.
+        Sort ordem;
+
+        if (prefixoCpf != null){
+            ordem = Sort.by("cpf");
+        } else if (prefixoEmail != null){
+            ordem = Sort.by("emailBusca", "id");
+        } else {
+            ordem = Sort.by("nomeBusca", "id");
+        }
+
+        return clienteRepository.buscarPorPrefixos(prefixoNome, prefixoCpf, prefixoEmail, ordem, tamanho).stream()
+                .map(Cliente::toDTO)
+                .toList();
+    }
+
+    private String vazioParaNulo(String texto){
+        return texto == null || texto.isEmpty() ? null : texto;
+    }
+
+    private String codificarCursor(Cliente cliente){
+        String chave = cliente.getId() + ":" + cliente.getNome();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cliente decodificarCursor(String cursor){
+        try {
+            String chave = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = chave.indexOf(':');
+
+            Cliente cliente = new Cliente();
+            cliente.setId(Long.valueOf(chave.substring(0, separador)));
+            cliente.setNome(chave.substring(separador + 1));
+
+            return cliente;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new ConsultaInvalidaException("Cursor de paginação inválido.");
+        }
+    }
+
+    // Dois cadastros concorrentes podem passar juntos pela validação; os índices únicos de CPF e email barram o segundo.
+    private <T> T gravarUnico(Supplier<T> gravacao){
+        try {
+            return gravacao.get();
+        } catch (DataIntegrityViolationException ex) {
+            throw new CpfJaCadastradoException("Já existe um cliente com este CPF ou EMAIL cadastrado.");
+        }
+    }
+
     private void validarCliente(ClienteDTO clienteDTO){
-        if (clienteRepository.existsByCpf(clienteDTO.getCpf())){
+        if (!indiceUnicidadeCliente.podeExistir(clienteDTO.getCpf(), clienteDTO.getEmail())){
+            return;
+        }
+
+        List<String> cpfsConflitantes = clienteRepository.buscarCpfsConflitantes(clienteDTO.getCpf(), TextoUtil.normalizar(clienteDTO.getEmail()));
+
+        if (cpfsConflitantes.contains(clienteDTO.getCpf())){
             throw new CpfJaCadastradoException("Já existe um cliente com este CPF cadastrado.");
         }
-        if (clienteRepository.existsByEmail(clienteDTO.getEmail())){
+        if (!cpfsConflitantes.isEmpty()){
             throw new CpfJaCadastradoException("Já existe um cliente com este EMAIL cadastrado.");
         }
     }
 
     @Autowired
     private ClienteRepository clienteRepository;
+
+    @Autowired
+    private IndiceUnicidadeCliente indiceUnicidadeCliente;
+
+    @Autowired
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    @Autowired
+    private RevisaoClienteService revisaoClienteService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private EventoAlteracaoService eventoAlteracaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${clientes.exclusao.tamanho-lote:1000}")
+    private int tamanhoLoteExclusao;
 }
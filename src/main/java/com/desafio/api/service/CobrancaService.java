@@ -0,0 +1,477 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.constants.SituacaoExecucao;
+import com.desafio.api.constants.TipoEvento;
+import com.desafio.api.dtos.ContaSituacaoDTO;
+import com.desafio.api.dtos.ExecucaoCobrancaDTO;
+import com.desafio.api.dtos.ResumoCobrancaDTO;
+import com.desafio.api.exception.CampoIncorretoException;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.exception.ExecucaoEmAndamentoException;
+import com.desafio.api.model.ExecucaoCobranca;
+import com.desafio.api.model.LoteCobranca;
+import com.desafio.api.model.ResumoCobranca;
+import com.desafio.api.repository.ContaRepository;
+import com.desafio.api.repository.ExecucaoCobrancaRepository;
+import com.desafio.api.repository.LoteCobrancaRepository;
+import com.desafio.api.repository.ResumoCobrancaRepository;
+import com.desafio.api.util.AcumuladorCentavos;
+import com.desafio.api.util.CentavosUtil;
+import com.desafio.api.util.ReferenciaUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+// Rotina de cobrança: varre TB_CONTA por id em lotes de contas pendentes com competência vencida, sinaliza
+// EM_ATRASO_CONTA e soma um resumo por cliente. Uma thread coordenadora lê só os ids para definir a faixa de
+// cada lote e os lotes rodam em paralelo, cada um na sua transação, que também marca o lote como concluído.
+// Se a aplicação parar no meio, a execução continua EM_ANDAMENTO: ao retomar, os lotes não concluídos são
+// refeitos e a varredura segue depois do último id agendado. Com várias instâncias, a execução é reservada no
+// banco pela que a coordena (dono e prazo renovado a cada lote agendado), e cada lote é marcado como concluído
+// antes de ser processado, para que nenhum lote seja somado duas vezes.
+@Service
+public class CobrancaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CobrancaService.class);
+
+    private static final SituacaoConta PENDENTE = SituacaoConta.PENDENTE;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private final String dono = UUID.randomUUID().toString();
+    private volatile boolean ativo;
+    private ExecutorService coordenador;
+    private ExecutorService trabalhadores;
+    private Counter linhasProcessadas;
+
+    public ExecucaoCobrancaDTO iniciar(String referenciaLimite) {
+        if (referenciaLimite != null && !ReferenciaUtil.isValida(referenciaLimite)) {
+            throw new CampoIncorretoException("Formato inválido. Use MM-AAAA ");
+        }
+
+        if (!emExecucao.compareAndSet(false, true)) {
+            throw new ExecucaoEmAndamentoException("Já existe uma execução de cobrança em andamento.");
+        }
+
+        ExecucaoCobranca execucao;
+        try {
+            execucao = reservarOuCriar(referenciaLimite);
+        } catch (RuntimeException ex) {
+            emExecucao.set(false);
+            throw ex;
+        }
+
+        Long idExecucao = execucao.getId();
+        try {
+            coordenador.execute(() -> {
+                try {
+                    executar(idExecucao);
+                } catch (RuntimeException ex) {
+                    log.error("Execução de cobrança {} interrompida; será retomada na próxima inicialização ou quando a reserva vencer",
+                            idExecucao, ex);
+                } finally {
+                    emExecucao.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Aplicação encerrando: a execução continua EM_ANDAMENTO e é retomada na próxima inicialização.
+            emExecucao.set(false);
+            throw ex;
+        }
+
+        return toDTO(execucao);
+    }
+
+    @Transactional(readOnly = true)
+    public ExecucaoCobrancaDTO buscarExecucao(Long id) {
+        return execucaoCobrancaRepository.findById(id).map(this::toDTO)
+                .orElseThrow(() -> new ConsultaInvalidaException("Não foi encontrada execução de cobrança com esse ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ResumoCobrancaDTO> buscarResumos(Long idExecucao, Pageable paginacao) {
+        buscarExecucao(idExecucao);
+
+        return resumoCobrancaRepository.buscarPorExecucao(idExecucao, paginacao)
+                .map(resumo -> new ResumoCobrancaDTO(resumo.getIdCliente(), resumo.getQuantidade(),
+                        CentavosUtil.paraDecimal(resumo.getTotalCentavos()), ReferenciaUtil.paraReferencia(resumo.getCompetenciaMaisAntiga())));
+    }
+
+    @Scheduled(cron = "${cobranca.cron:-}")
+    public void executarAgendada() {
+        if (!emExecucao.get()) {
+            iniciarSeLivre();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarInterrompida() {
+        if (retomarAoIniciar && execucaoCobrancaRepository.findFirstBySituacaoOrderByIdAsc(SituacaoExecucao.EM_ANDAMENTO).isPresent()) {
+            iniciarSeLivre();
+        }
+    }
+
+    // Agendamento e retomada rodam em todas as instâncias: só a que conseguir a reserva segue.
+    private void iniciarSeLivre() {
+        try {
+            iniciar(null);
+        } catch (ExecucaoEmAndamentoException ex) {
+            log.info("Cobrança não iniciada nesta instância: {}", ex.getMessage());
+        }
+    }
+
+    // Uma execução interrompida é retomada com o corte original, em vez de começar outra, desde que nenhuma outra
+    // instância a tenha reservado com prazo ainda válido.
+    private ExecucaoCobranca reservarOuCriar(String referenciaLimite) {
+        Instant agora = Instant.now();
+        Optional<ExecucaoCobranca> emAndamento = execucaoCobrancaRepository.findFirstBySituacaoOrderByIdAsc(SituacaoExecucao.EM_ANDAMENTO);
+
+        if (emAndamento.isEmpty()) {
+            try {
+                return execucaoCobrancaRepository.save(novaExecucao(referenciaLimite, agora));
+            } catch (DataIntegrityViolationException ex) {
+                // Outra instância criou a execução ao mesmo tempo (UK_EXECUCAO_EM_ANDAMENTO).
+                throw new ExecucaoEmAndamentoException("Já existe uma execução de cobrança em andamento.");
+            }
+        }
+
+        Long idExecucao = emAndamento.get().getId();
+        Integer reservadas = transactionTemplate.execute(status -> execucaoCobrancaRepository.reservar(idExecucao,
+                SituacaoExecucao.EM_ANDAMENTO, dono, agora, agora.plusSeconds(reservaSegundos)));
+
+        if (reservadas == null || reservadas == 0) {
+            throw new ExecucaoEmAndamentoException("A execução de cobrança " + idExecucao + " está em andamento em outra instância.");
+        }
+
+        return execucaoCobrancaRepository.findById(idExecucao).orElseThrow();
+    }
+
+    void executar(Long idExecucao) {
+        ExecucaoCobranca execucao = execucaoCobrancaRepository.findById(idExecucao).orElseThrow();
+        Integer competenciaLimite = execucao.getCompetenciaLimite();
+        long inicio = System.nanoTime();
+        long linhasAntes = execucao.getLinhasProcessadas();
+
+        // No máximo dois lotes por trabalhador entre agendados e em processamento.
+        int maximoEmVoo = quantidadeTrabalhadores * 2;
+        Semaphore emVoo = new Semaphore(maximoEmVoo);
+        AtomicReference<RuntimeException> falha = new AtomicReference<>();
+
+        List<LoteCobranca> pendentes = loteCobrancaRepository.findByIdExecucaoAndConcluidoFalseOrderByIdInicialAsc(idExecucao);
+        if (!pendentes.isEmpty()) {
+            log.info("Retomando execução de cobrança {}: {} lotes pendentes, varredura a partir do id {}",
+                    idExecucao, pendentes.size(), execucao.getUltimoIdAgendado());
+        }
+
+        for (LoteCobranca lote : pendentes) {
+            agendar(lote, competenciaLimite, emVoo, falha);
+        }
+
+        long ultimoId = execucao.getUltimoIdAgendado();
+        boolean varreduraCompleta = false;
+        boolean reservaPerdida = false;
+
+        while (ativo && falha.get() == null) {
+            List<Long> ids = contaRepository.buscarIdsVencidosAposId(ultimoId, PENDENTE, competenciaLimite, Limit.of(tamanhoLote));
+
+            if (ids.isEmpty()) {
+                varreduraCompleta = true;
+                break;
+            }
+
+            long idInicial = ultimoId;
+            long idFinal = ids.get(ids.size() - 1);
+            LoteCobranca lote = transactionTemplate.execute(status -> {
+                if (execucaoCobrancaRepository.registrarAgendamento(idExecucao, dono, idFinal,
+                        Instant.now().plusSeconds(reservaSegundos)) == 0) {
+                    return null;
+                }
+                return loteCobrancaRepository.save(new LoteCobranca(null, idExecucao, idInicial, idFinal, false));
+            });
+
+            // A reserva venceu e outra instância assumiu a execução: ela segue a partir do checkpoint.
+            if (lote == null) {
+                reservaPerdida = true;
+                break;
+            }
+
+            agendar(lote, competenciaLimite, emVoo, falha);
+            ultimoId = idFinal;
+
+            if (ids.size() < tamanhoLote) {
+                varreduraCompleta = true;
+                break;
+            }
+        }
+
+        emVoo.acquireUninterruptibly(maximoEmVoo);
+        emVoo.release(maximoEmVoo);
+
+        if (falha.get() != null) {
+            throw falha.get();
+        }
+        if (reservaPerdida) {
+            log.warn("Execução de cobrança {} assumida por outra instância no id {}", idExecucao, ultimoId);
+            return;
+        }
+        // Encerrando, um lote pode ter sido recusado pelo pool: a conclusão fica para a retomada, em qualquer instância.
+        if (!varreduraCompleta || !ativo) {
+            transactionTemplate.executeWithoutResult(status -> execucaoCobrancaRepository.liberar(idExecucao, dono));
+            log.info("Execução de cobrança {} pausada no id {}", idExecucao, ultimoId);
+            return;
+        }
+
+        Boolean concluiu = transactionTemplate.execute(status -> {
+            if (execucaoCobrancaRepository.concluir(idExecucao, dono, SituacaoExecucao.CONCLUIDA, Instant.now()) == 0) {
+                return false;
+            }
+            loteCobrancaRepository.removerPorExecucao(idExecucao);
+            return true;
+        });
+
+        if (!Boolean.TRUE.equals(concluiu)) {
+            log.warn("Execução de cobrança {} assumida por outra instância antes da conclusão", idExecucao);
+            return;
+        }
+
+        ExecucaoCobranca concluida = execucaoCobrancaRepository.findById(idExecucao).orElseThrow();
+        double segundos = Math.max(1e-3, (System.nanoTime() - inicio) / 1e9);
+        log.info("Execução de cobrança {} concluída: {} linhas, {} contas sinalizadas, {} linhas/s nesta sessão",
+                idExecucao, concluida.getLinhasProcessadas(), concluida.getContasSinalizadas(),
+                Math.round((concluida.getLinhasProcessadas() - linhasAntes) / segundos));
+    }
+
+    private void agendar(LoteCobranca lote, Integer competenciaLimite, Semaphore emVoo, AtomicReference<RuntimeException> falha) {
+        emVoo.acquireUninterruptibly();
+
+        try {
+            trabalhadores.execute(() -> {
+                try {
+                    if (falha.get() == null) {
+                        transactionTemplate.executeWithoutResult(status -> processarLote(lote, competenciaLimite));
+                    }
+                } catch (RuntimeException ex) {
+                    falha.compareAndSet(null, ex);
+                } finally {
+                    emVoo.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Aplicação encerrando: o lote continua pendente e é refeito na retomada.
+            emVoo.release();
+        }
+    }
+
+    void processarLote(LoteCobranca lote, Integer competenciaLimite) {
+        // Marcar o lote primeiro bloqueia a linha: uma instância que pegue o mesmo lote espera esta transação e,
+        // depois do commit, recebe 0 e não sinaliza nem soma de novo.
+        if (loteCobrancaRepository.concluir(lote.getId()) == 0) {
+            return;
+        }
+
+        List<ContaSituacaoDTO> contas = contaRepository.bloquearVencidasEntre(lote.getIdInicial(), lote.getIdFinal(),
+                PENDENTE, competenciaLimite);
+        int sinalizadas = 0;
+
+        if (!contas.isEmpty()) {
+            sinalizadas = sinalizar(contas);
+
+            // Chave por cliente e competência: percorrida em ordem, a primeira competência de cada cliente é a mais antiga.
+            AcumuladorCentavos acumulador = new AcumuladorCentavos(contas.size());
+            for (ContaSituacaoDTO conta : contas) {
+                acumulador.somar(AcumuladorCentavos.chave(conta.getIdCliente(), conta.getCompetencia(), 0), 1,
+                        CentavosUtil.paraCentavos(conta.getValor()));
+            }
+            somarResumos(lote.getIdExecucao(), acumulador);
+        }
+
+        execucaoCobrancaRepository.somarProgresso(lote.getIdExecucao(), contas.size(), sinalizadas);
+        linhasProcessadas.increment(contas.size());
+    }
+
+    // Só as contas que ainda não estavam em atraso mudam: para elas a revisão do cliente (ETag das contas) é
+    // incrementada e um evento entra no feed, na mesma transação da sinalização. As linhas já estão bloqueadas
+    // por bloquearVencidasEntre, então a lista não muda entre a consulta e o UPDATE.
+    private int sinalizar(List<ContaSituacaoDTO> contas) {
+        Set<Long> ids = new HashSet<>(contaRepository.buscarIdsSemAtraso(contas.stream().map(ContaSituacaoDTO::getId).toList()));
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<ContaSituacaoDTO> sinalizadas = contas.stream().filter(conta -> ids.contains(conta.getId())).toList();
+        int alteradas = contaRepository.sinalizarEmAtraso(sinalizadas.stream().map(ContaSituacaoDTO::getId).toList());
+
+        revisaoClienteService.registrarAlteracaoContas(sinalizadas.stream().map(ContaSituacaoDTO::getIdCliente).collect(Collectors.toSet()));
+        eventoAlteracaoService.registrarTodos(sinalizadas.stream()
+                .map(conta -> eventoAlteracaoService.novoEventoConta(TipoEvento.CONTA_SINALIZADA_EM_ATRASO, conta, conta.getSituacao()))
+                .toList());
+
+        return alteradas;
+    }
+
+    // Em ordem de cliente, para que lotes paralelos que tocam os mesmos clientes não travem um ao outro.
+    private void somarResumos(Long idExecucao, AcumuladorCentavos acumulador) {
+        long[] atual = {-1L, 0L, 0L, 0L};
+
+        acumulador.paraCadaEmOrdem((chave, quantidade, centavos) -> {
+            long idCliente = AcumuladorCentavos.idCliente(chave);
+
+            if (idCliente != atual[0]) {
+                if (atual[0] >= 0) {
+                    somarResumo(idExecucao, atual[0], atual[1], atual[2], (int) atual[3]);
+                }
+                atual[0] = idCliente;
+                atual[1] = 0L;
+                atual[2] = 0L;
+                atual[3] = AcumuladorCentavos.competencia(chave);
+            }
+            atual[1] += quantidade;
+            atual[2] += centavos;
+        });
+
+        somarResumo(idExecucao, atual[0], atual[1], atual[2], (int) atual[3]);
+    }
+
+    private void somarResumo(Long idExecucao, Long idCliente, long quantidade, long centavos, int competencia) {
+        if (resumoCobrancaRepository.somar(idExecucao, idCliente, quantidade, centavos, competencia) == 0) {
+            criarResumoVazio(idExecucao, idCliente, competencia);
+            resumoCobrancaRepository.somar(idExecucao, idCliente, quantidade, centavos, competencia);
+        }
+    }
+
+    private void criarResumoVazio(Long idExecucao, Long idCliente, int competencia) {
+        TransactionTemplate novaTransacao = new TransactionTemplate(transactionManager);
+        novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            novaTransacao.executeWithoutResult(status ->
+                    resumoCobrancaRepository.saveAndFlush(new ResumoCobranca(null, idExecucao, idCliente, 0L, 0L, competencia)));
+        } catch (DataIntegrityViolationException ex) {
+            // Outro lote criou o resumo desse cliente; basta somar sobre ele.
+        }
+    }
+
+    private ExecucaoCobranca novaExecucao(String referenciaLimite, Instant agora) {
+        YearMonth mesAtual = YearMonth.now();
+        int competenciaLimite = referenciaLimite != null
+                ? ReferenciaUtil.paraCompetencia(referenciaLimite)
+                : mesAtual.getYear() * 100 + mesAtual.getMonthValue();
+
+        return new ExecucaoCobranca(null, competenciaLimite, SituacaoExecucao.EM_ANDAMENTO, 0L, 0L, 0L, agora, null,
+                dono, agora.plusSeconds(reservaSegundos));
+    }
+
+    private ExecucaoCobrancaDTO toDTO(ExecucaoCobranca execucao) {
+        Instant fim = execucao.getConcluidaEm() != null ? execucao.getConcluidaEm() : Instant.now();
+        double segundos = Math.max(1e-3, Duration.between(execucao.getIniciadaEm(), fim).toMillis() / 1000.0);
+
+        return new ExecucaoCobrancaDTO(execucao.getId(), ReferenciaUtil.paraReferencia(execucao.getCompetenciaLimite()),
+                execucao.getSituacao(), execucao.getLinhasProcessadas(), execucao.getContasSinalizadas(),
+                execucao.getIniciadaEm(), execucao.getConcluidaEm(), Math.round(execucao.getLinhasProcessadas() / segundos * 10) / 10.0);
+    }
+
+    @PostConstruct
+    void iniciarTrabalhadores() {
+        AtomicInteger numero = new AtomicInteger();
+
+        coordenador = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "cobranca-coordenador");
+            thread.setDaemon(true);
+            return thread;
+        });
+        trabalhadores = Executors.newFixedThreadPool(quantidadeTrabalhadores, tarefa -> {
+            Thread thread = new Thread(tarefa, "cobranca-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        linhasProcessadas = Counter.builder("cobranca.linhas")
+                .description("Contas vencidas processadas pela rotina de cobrança")
+                .register(meterRegistry);
+        ativo = true;
+    }
+
+    // O coordenador para de agendar e os lotes já em andamento terminam; o restante fica para a retomada.
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        ativo = false;
+        coordenador.shutdown();
+        trabalhadores.shutdown();
+        trabalhadores.awaitTermination(30, TimeUnit.SECONDS);
+        coordenador.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Value("${cobranca.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${cobranca.trabalhadores:4}")
+    private int quantidadeTrabalhadores;
+
+    @Value("${cobranca.retomar-ao-iniciar:true}")
+    private boolean retomarAoIniciar;
+
+    @Value("${cobranca.reserva-segundos:300}")
+    private long reservaSegundos;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ExecucaoCobrancaRepository execucaoCobrancaRepository;
+
+    @Autowired
+    private LoteCobrancaRepository loteCobrancaRepository;
+
+    @Autowired
+    private ResumoCobrancaRepository resumoCobrancaRepository;
+
+    @Autowired
+    private RevisaoClienteService revisaoClienteService;
+
+    @Autowired
+    private EventoAlteracaoService eventoAlteracaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+}
@@ -1,56 +1,110 @@
 package com.desafio.api.service;
 
 import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.constants.TipoEvento;
+import com.desafio.api.dtos.ClienteDTO;
 import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.dtos.ContaResumoDTO;
+import com.desafio.api.dtos.ContasClienteDTO;
 import com.desafio.api.exception.CampoIncorretoException;
 import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.exception.VersaoConflitanteException;
 import com.desafio.api.model.Cliente;
 import com.desafio.api.model.Conta;
 import com.desafio.api.repository.ContaRepository;
+import com.desafio.api.util.ReferenciaUtil;
+import com.desafio.api.util.VersaoUtil;
+import org.springframework.beans.BeanUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "servico.contas", histogram = true)
 public class ContaService {
 
+    @Transactional
     public ContaDTO cadastrarConta(Long idCliente, ContaDTO contaDTO){
 
-        Conta conta = contaDTO.toModal();
-        Cliente cliente = clienteService.buscarClientePorId(idCliente).toModal();
+        Conta conta = prepararConta(idCliente, contaDTO);
 
-        conta.setCliente(cliente);
+        Conta salva = contaRepository.save(conta);
+        resumoFaturamentoService.registrarInclusao(salva);
+        revisaoClienteService.registrarAlteracaoContas(idCliente);
+        eventoAlteracaoService.registrarConta(TipoEvento.CONTA_CRIADA, salva, null);
 
-        validarConta(conta.toDTO());
-        return contaRepository.save(conta).toDTO();
+        return salva.toDTO();
     }
 
-    public ContaDTO atualizarConta(Long id, ContaDTO contaDTO){
+    // Grava contas já validadas em uma única transação, com insert em lote pela sequência SEQ_CONTA.
+    @Transactional
+    public List<Conta> cadastrarContas(List<Conta> contas){
 
-        Conta conta = contaRepository.findById(id)
+        List<Conta> salvas = contaRepository.saveAll(contas);
+        resumoFaturamentoService.registrarInclusoes(salvas);
+        revisaoClienteService.registrarAlteracaoContas(salvas.stream().map(conta -> conta.getCliente().getId()).collect(Collectors.toSet()));
+        eventoAlteracaoService.registrarTodos(salvas.stream()
+                .map(conta -> eventoAlteracaoService.novoEventoConta(TipoEvento.CONTA_CRIADA, conta, null))
+                .toList());
+
+        return salvas;
+    }
+
+    @Transactional
+    public ContaDTO atualizarConta(Long id, ContaDTO contaDTO, Long versaoEsperada){
+
+        Conta anterior = contaRepository.findById(id)
                 .orElseThrow(() -> new ConsultaInvalidaException("Não foi encontrado conta com esse ID:" + id));
 
+        VersaoUtil.verificar(versaoEsperada, anterior.getVersao());
+
+        Conta conta = new Conta();
+        BeanUtils.copyProperties(anterior, conta);
+
         conta.setReferencia(contaDTO.getReferencia());
         conta.setValor(contaDTO.getValor());
         conta.setSituacao(contaDTO.getSituacao());
 
         validarConta(conta.toDTO());
 
-        return contaRepository.save(conta).toDTO();
+        gravarSeVersao(conta, anterior.getVersao());
+        resumoFaturamentoService.registrarAlteracao(anterior, conta);
+        revisaoClienteService.registrarAlteracaoContas(conta.getCliente().getId());
+        eventoAlteracaoService.registrarConta(anterior.getSituacao() == conta.getSituacao() ? TipoEvento.CONTA_ATUALIZADA : TipoEvento.CONTA_SITUACAO_ALTERADA,
+                conta, anterior.getSituacao());
+
+        return conta.toDTO();
     }
 
-    public void deletarConta(Long id){
+    @Transactional
+    public void deletarConta(Long id, Long versaoEsperada){
 
-        Conta conta = contaRepository.findById(id)
+        Conta anterior = contaRepository.findById(id)
                 .orElseThrow(() -> new ConsultaInvalidaException("Não foi encontrado conta com esse ID:" + id));
 
+        VersaoUtil.verificar(versaoEsperada, anterior.getVersao());
+
+        Conta conta = new Conta();
+        BeanUtils.copyProperties(anterior, conta);
+
         conta.setSituacao(SituacaoConta.CANCELADA);
-        contaRepository.save(conta);
+        gravarSeVersao(conta, anterior.getVersao());
+        resumoFaturamentoService.registrarAlteracao(anterior, conta);
+        revisaoClienteService.registrarAlteracaoContas(conta.getCliente().getId());
+
+        if (anterior.getSituacao() != conta.getSituacao()){
+            eventoAlteracaoService.registrarConta(TipoEvento.CONTA_SITUACAO_ALTERADA, conta, anterior.getSituacao());
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<ContaDTO> listarContasPeloIdCliente(Long id){
 
         clienteService.buscarClientePorId(id);
@@ -60,6 +114,22 @@ public class ContaService {
         return contas;
     }
 
+    @Transactional(readOnly = true)
+    public ContasClienteDTO listarContasPaginadas(Long idCliente, SituacaoConta situacao, String referenciaInicial,
+                                                  String referenciaFinal, Pageable paginacao){
+
+        ClienteDTO cliente = clienteService.buscarClientePorId(idCliente);
+
+        List<SituacaoConta> situacoes = situacao == null ? List.of(SituacaoConta.values()) : List.of(situacao);
+        int inicio = referenciaInicial == null ? 0 : converterCompetencia(referenciaInicial);
+        int fim = referenciaFinal == null ? 999999 : converterCompetencia(referenciaFinal);
+
+        Page<ContaResumoDTO> contas = contaRepository.buscarResumosPorCliente(idCliente, situacoes, inicio, fim, paginacao);
+
+        return new ContasClienteDTO(cliente, contas);
+    }
+
+    @Transactional(readOnly = true)
     public ContaDTO buscarContaPeloId(Long id){
 
         Conta conta = contaRepository.findById(id)
@@ -68,8 +138,49 @@ public class ContaService {
         return conta.toDTO();
     }
 
+    @Transactional(readOnly = true)
+    public List<ContaDTO> listarContasPorPeriodo(Long idCliente, String referenciaInicial, String referenciaFinal){
+
+        clienteService.buscarClientePorId(idCliente);
+
+        return contaRepository.findByClienteIdAndCompetenciaBetweenOrderByCompetenciaAscIdAsc(idCliente,
+                        converterCompetencia(referenciaInicial), converterCompetencia(referenciaFinal))
+                .stream().map(Conta::toDTO).collect(Collectors.toList());
+    }
+
+    Conta prepararConta(Long idCliente, ContaDTO contaDTO){
+
+        Conta conta = contaDTO.toModal();
+        Cliente cliente = clienteService.buscarClientePorId(idCliente).toModal();
+
+        conta.setCliente(cliente);
+
+        validarConta(conta.toDTO());
+
+        return conta;
+    }
+
+    // Um único UPDATE condicionado à versão lida: os valores anteriores usados no resumo são exatamente os
+    // sobrescritos, e uma alteração concorrente desde a leitura faz a gravação não encontrar linha (412).
+    // A entidade lida não é modificada, para que o Hibernate não tente gravá-la de novo no commit.
+    private void gravarSeVersao(Conta conta, Long versaoLida){
+        if (contaRepository.atualizarSeVersao(conta.getId(), versaoLida, conta.getReferencia(), conta.getCompetencia(),
+                conta.getValor(), conta.getSituacao()) == 0){
+            throw new VersaoConflitanteException("A conta foi alterada por outra requisição. Consulte-a novamente antes de alterar.");
+        }
+
+        conta.setVersao(versaoLida + 1);
+    }
+
+    private int converterCompetencia(String referencia){
+        if (!ReferenciaUtil.isValida(referencia)){
+            throw new ConsultaInvalidaException("Referência inválida: " + referencia + ". Use MM-AAAA");
+        }
+        return ReferenciaUtil.paraCompetencia(referencia);
+    }
+
     void validarConta(ContaDTO contaDTO){
-        if (contaDTO.getValor() < 0){
+        if (contaDTO.getValor().signum() < 0){
             throw new CampoIncorretoException("Não foi possível criar uma conta com o valor menor que 0.");
         }
         if (contaDTO.getCliente() == null){
@@ -78,6 +189,12 @@ public class ContaService {
         if (contaDTO.getSituacao() == SituacaoConta.CANCELADA){
             throw new CampoIncorretoException("Não foi possível criar uma conta com a situação: " + SituacaoConta.CANCELADA);
         }
+        if (!ReferenciaUtil.isValida(contaDTO.getReferencia())){
+            throw new CampoIncorretoException("Formato inválido. Use MM-AAAA ");
+        }
+        if (contaDTO.getValor().stripTrailingZeros().scale() > 2){
+            throw new CampoIncorretoException("O valor deve ter no máximo duas casas decimais.");
+        }
     }
 
     @Autowired
@@ -85,4 +202,13 @@ public class ContaService {
 
     @Autowired
     private ClienteService clienteService;
+
+    @Autowired
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    @Autowired
+    private RevisaoClienteService revisaoClienteService;
+
+    @Autowired
+    private EventoAlteracaoService eventoAlteracaoService;
 }
@@ -0,0 +1,181 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.constants.TipoEvento;
+import com.desafio.api.dtos.ContaSituacaoDTO;
+import com.desafio.api.dtos.EventoContaDTO;
+import com.desafio.api.dtos.EventoDTO;
+import com.desafio.api.dtos.FeedEventosDTO;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.model.Conta;
+import com.desafio.api.model.EventoAlteracao;
+import com.desafio.api.model.PublicacaoEvento;
+import com.desafio.api.repository.EventoAlteracaoRepository;
+import com.desafio.api.repository.PublicacaoEventoRepository;
+import com.desafio.api.util.ReferenciaUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class EventoAlteracaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventoAlteracaoService.class);
+
+    private static final int TAMANHO_MAXIMO_FEED = 1000;
+
+    private static final int TAMANHO_LOTE_PUBLICACAO = 1000;
+
+    private static final String INSERIR_EVENTO = "INSERT INTO TB_EVENTO_ALTERACAO " +
+            "(TIPO_EVENTO, ID_ENTIDADE_EVENTO, ID_CLIENTE_EVENTO, DADOS_EVENTO, CRIADO_EM_EVENTO) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String PUBLICAR_EVENTO = "UPDATE TB_EVENTO_ALTERACAO SET POSICAO_EVENTO = ? WHERE ID_EVENTO = ?";
+
+    // Os eventos só são gravados junto com a alteração que os originou; fora de uma transação é erro de uso.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEvento tipo, Long idEntidade, Long idCliente, Object dados) {
+        registrarTodos(List.of(novoEvento(tipo, idEntidade, idCliente, dados)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTodos(Collection<EventoAlteracao> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERIR_EVENTO, eventos, eventos.size(), (comando, evento) -> {
+            comando.setString(1, evento.getTipo().name());
+            comando.setLong(2, evento.getIdEntidade());
+            comando.setLong(3, evento.getIdCliente());
+            comando.setString(4, evento.getDados());
+            comando.setTimestamp(5, Timestamp.from(evento.getCriadoEm()));
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarConta(TipoEvento tipo, Conta conta, SituacaoConta situacaoAnterior) {
+        registrarTodos(List.of(novoEventoConta(tipo, conta, situacaoAnterior)));
+    }
+
+    public EventoAlteracao novoEvento(TipoEvento tipo, Long idEntidade, Long idCliente, Object dados) {
+        try {
+            return new EventoAlteracao(null, tipo, idEntidade, idCliente, objectMapper.writeValueAsString(dados), Instant.now(), null);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Não foi possível serializar o evento " + tipo, ex);
+        }
+    }
+
+    public EventoAlteracao novoEventoConta(TipoEvento tipo, Conta conta, SituacaoConta situacaoAnterior) {
+        Long idCliente = conta.getCliente().getId();
+
+        return novoEvento(tipo, conta.getId(), idCliente, new EventoContaDTO(conta.getId(), idCliente, conta.getReferencia(),
+                conta.getValor(), conta.getSituacao(), situacaoAnterior));
+    }
+
+    public EventoAlteracao novoEventoConta(TipoEvento tipo, ContaSituacaoDTO conta, SituacaoConta situacao) {
+        return novoEvento(tipo, conta.getId(), conta.getIdCliente(), new EventoContaDTO(conta.getId(), conta.getIdCliente(),
+                ReferenciaUtil.paraReferencia(conta.getCompetencia()), conta.getValor(), situacao, conta.getSituacao()));
+    }
+
+    // O offset é a posição atribuída na publicação, e não o id: só eventos já publicados são entregues.
+    public FeedEventosDTO buscarEventos(Long apos, int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_FEED) {
+            throw new ConsultaInvalidaException("O tamanho do lote de eventos deve estar entre 1 e " + TAMANHO_MAXIMO_FEED + ".");
+        }
+
+        long inicio = apos == null ? 0 : apos;
+
+        List<EventoDTO> eventos = eventoAlteracaoRepository.buscarAposPosicao(inicio, Limit.of(tamanho)).stream()
+                .map(evento -> new EventoDTO(evento.getId(), evento.getPosicao(), evento.getTipo(), evento.getIdEntidade(),
+                        evento.getIdCliente(), evento.getCriadoEm(), evento.getDados()))
+                .toList();
+
+        return new FeedEventosDTO(eventos, eventos.isEmpty() ? inicio : eventos.get(eventos.size() - 1).getPosicao());
+    }
+
+    // O id vem de uma coluna identity e uma transação mais lenta pode confirmar um id menor depois de um maior já
+    // ter sido lido. Por isso os eventos confirmados recebem aqui a próxima posição do feed, em lotes. A linha de
+    // TB_PUBLICACAO_EVENTO fica bloqueada até o commit, então só uma publicação roda por vez, mesmo com várias
+    // instâncias, e as posições ficam visíveis sempre em ordem crescente: um evento confirmado depois recebe uma
+    // posição maior que a de todos os já entregues.
+    @Scheduled(fixedDelayString = "${eventos.publicacao.intervalo-ms:200}")
+    public void publicarEventos() {
+        Integer publicados;
+
+        do {
+            publicados = transactionTemplate.execute(status -> publicarLote());
+        } while (publicados != null && publicados == TAMANHO_LOTE_PUBLICACAO);
+    }
+
+    int publicarLote() {
+        PublicacaoEvento publicacao = bloquearPublicacao();
+        List<Long> ids = eventoAlteracaoRepository.buscarIdsNaoPublicados(Limit.of(TAMANHO_LOTE_PUBLICACAO));
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        long posicao = publicacao.getUltimaPosicao();
+        List<Object[]> posicoes = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            posicoes.add(new Object[]{++posicao, id});
+        }
+
+        jdbcTemplate.batchUpdate(PUBLICAR_EVENTO, posicoes);
+        publicacao.setUltimaPosicao(posicao);
+        publicacaoEventoRepository.save(publicacao);
+        return ids.size();
+    }
+
+    private PublicacaoEvento bloquearPublicacao() {
+        return publicacaoEventoRepository.bloquear(PublicacaoEvento.ID_PUBLICACAO).orElseGet(() -> {
+            publicacaoEventoRepository.criarSeAusente(PublicacaoEvento.ID_PUBLICACAO, eventoAlteracaoRepository.buscarMaiorPosicao());
+            return publicacaoEventoRepository.bloquear(PublicacaoEvento.ID_PUBLICACAO).orElseThrow();
+        });
+    }
+
+    @Scheduled(cron = "${eventos.limpeza.cron:0 30 3 * * *}")
+    public void removerEventosAntigos() {
+        int removidos = eventoAlteracaoRepository.removerAnterioresA(Instant.now().minus(Duration.ofDays(retencaoDias)));
+
+        if (removidos > 0) {
+            log.info("Removidos {} eventos com mais de {} dias", removidos, retencaoDias);
+        }
+    }
+
+    @Value("${eventos.retencao-dias:7}")
+    private long retencaoDias;
+
+    @Autowired
+    private EventoAlteracaoRepository eventoAlteracaoRepository;
+
+    @Autowired
+    private PublicacaoEventoRepository publicacaoEventoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+}
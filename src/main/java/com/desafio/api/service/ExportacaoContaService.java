@@ -0,0 +1,131 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.FormatoExportacao;
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ExportacaoContaService {
+
+    private static final String CONSULTA_EXPORTACAO = "SELECT c.ID_CONTA, cl.CPF_CLIENTE, c.REFERENCIA_CONTA, c.VALOR_CONTA, c.SITUACAO_CONTA " +
+            "FROM TB_CONTA c JOIN TB_CLIENTE cl ON cl.ID_CLIENTE = c.CLIENTE_ID ORDER BY c.ID_CONTA";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final SituacaoConta[] SITUACOES = SituacaoConta.values();
+
+    public FormatoExportacao converterFormato(String formato) {
+        try {
+            return FormatoExportacao.valueOf(formato.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ConsultaInvalidaException("Formato de exportação inválido: " + formato + ". Use csv ou ndjson");
+        }
+    }
+
+    // A transação somente leitura desliga o autocommit, condição para o driver do PostgreSQL usar cursor com fetch size.
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida, FormatoExportacao formato, boolean compactar) {
+        try {
+            OutputStream destino = compactar ? new GZIPOutputStream(saida, TAMANHO_BUFFER) : saida;
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+
+            long linhas = formato == FormatoExportacao.CSV ? exportarCsv(escritor) : exportarNdjson(escritor);
+
+            escritor.flush();
+            if (destino instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            }
+
+            return linhas;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long exportarCsv(Writer escritor) throws IOException {
+        escritor.write("idConta,cpf,referencia,valor,situacao\n");
+
+        return percorrer(resultado -> {
+            try {
+                escritor.write(Long.toString(resultado.getLong(1)));
+                escritor.write(',');
+                escritor.write(resultado.getString(2));
+                escritor.write(',');
+                escritor.write(resultado.getString(3));
+                escritor.write(',');
+                escritor.write(resultado.getBigDecimal(4).toPlainString());
+                escritor.write(',');
+                escritor.write(SITUACOES[resultado.getInt(5)].name());
+                escritor.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private long exportarNdjson(Writer escritor) throws IOException {
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(escritor);
+        gerador.setRootValueSeparator(null);
+
+        long linhas = percorrer(resultado -> {
+            try {
+                gerador.writeStartObject();
+                gerador.writeNumberField("idConta", resultado.getLong(1));
+                gerador.writeStringField("cpf", resultado.getString(2));
+                gerador.writeStringField("referencia", resultado.getString(3));
+                gerador.writeNumberField("valor", resultado.getBigDecimal(4));
+                gerador.writeStringField("situacao", SITUACOES[resultado.getInt(5)].name());
+                gerador.writeEndObject();
+                gerador.writeRaw('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        gerador.flush();
+        return linhas;
+    }
+
+    private long percorrer(RowCallbackHandler escritorLinha) {
+        long[] linhas = {0};
+
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement consulta = conexao.prepareStatement(CONSULTA_EXPORTACAO, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            consulta.setFetchSize(tamanhoBusca);
+            return consulta;
+        }, (ResultSet resultado) -> {
+            escritorLinha.processRow(resultado);
+            linhas[0]++;
+        });
+
+        return linhas[0];
+    }
+
+    @Value("${contas.exportacao.tamanho-busca:1000}")
+    private int tamanhoBusca;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+}
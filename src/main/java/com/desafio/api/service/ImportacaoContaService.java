@@ -0,0 +1,225 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ContaImportacaoDTO;
+import com.desafio.api.dtos.ErroImportacaoDTO;
+import com.desafio.api.dtos.ResultadoImportacaoDTO;
+import com.desafio.api.exception.CampoIncorretoException;
+import com.desafio.api.model.Cliente;
+import com.desafio.api.model.Conta;
+import com.desafio.api.repository.ClienteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportacaoContaService {
+
+    private static final int LIMITE_ERROS_REPORTADOS = 1000;
+
+    public ResultadoImportacaoDTO importarNdjson(Reader corpo) {
+        return importar(corpo, this::lerLinhaNdjson);
+    }
+
+    public ResultadoImportacaoDTO importarCsv(Reader corpo) {
+        return importar(corpo, this::lerLinhaCsv);
+    }
+
+    private ResultadoImportacaoDTO importar(Reader corpo, Function<String, ContaImportacaoDTO> leitor) {
+        ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+        List<LinhaImportacao> lote = new ArrayList<>(tamanhoLote);
+
+        try (BufferedReader linhas = new BufferedReader(corpo)) {
+            String texto;
+            long numeroLinha = 0;
+
+            while ((texto = linhas.readLine()) != null) {
+                numeroLinha++;
+
+                if (texto.isBlank() || (numeroLinha == 1 && ehCabecalhoCsv(texto))) {
+                    continue;
+                }
+
+                resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+
+                try {
+                    lote.add(new LinhaImportacao(numeroLinha, leitor.apply(texto)));
+                } catch (CampoIncorretoException ex) {
+                    registrarErro(resultado, numeroLinha, ex.getMessage());
+                }
+
+                if (lote.size() >= tamanhoLote) {
+                    processarLote(lote, resultado);
+                    lote.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (!lote.isEmpty()) {
+            processarLote(lote, resultado);
+        }
+
+        return resultado;
+    }
+
+    private void processarLote(List<LinhaImportacao> lote, ResultadoImportacaoDTO resultado) {
+        List<ErroImportacaoDTO> errosLote = new ArrayList<>();
+
+        try {
+            Integer gravadas = transactionTemplate.execute(status -> {
+                Set<Long> idsClientes = lote.stream()
+                        .map(linha -> linha.conta().getIdCliente())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toCollection(HashSet::new));
+
+                Map<Long, Cliente> clientes = clienteRepository.findAllById(idsClientes).stream()
+                        .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+
+                List<Conta> contas = new ArrayList<>(lote.size());
+
+                for (LinhaImportacao linha : lote) {
+                    Conta conta = montarConta(linha, clientes, errosLote);
+
+                    if (conta != null) {
+                        contas.add(conta);
+                    }
+                }
+
+                contaService.cadastrarContas(contas);
+                entityManager.flush();
+                entityManager.clear();
+
+                return contas.size();
+            });
+
+            resultado.setContasImportadas(resultado.getContasImportadas() + gravadas);
+            errosLote.forEach(erro -> registrarErro(resultado, erro.getLinha(), erro.getMensagem()));
+        } catch (DataAccessException ex) {
+            for (LinhaImportacao linha : lote) {
+                registrarErro(resultado, linha.numero(), "Falha ao gravar o lote: " + ex.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private Conta montarConta(LinhaImportacao linha, Map<Long, Cliente> clientes, List<ErroImportacaoDTO> erros) {
+        ContaImportacaoDTO dados = linha.conta();
+        Cliente cliente = clientes.get(dados.getIdCliente());
+
+        if (cliente == null) {
+            erros.add(new ErroImportacaoDTO(linha.numero(), "Não foi encontrado cliente para esse ID: " + dados.getIdCliente()));
+            return null;
+        }
+
+        Conta conta = new Conta();
+        conta.setReferencia(dados.getReferencia());
+        conta.setValor(dados.getValor());
+        conta.setSituacao(dados.getSituacao());
+        conta.setCliente(cliente);
+
+        Set<ConstraintViolation<Conta>> violacoes = validator.validate(conta);
+
+        if (!violacoes.isEmpty()) {
+            erros.add(new ErroImportacaoDTO(linha.numero(), violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "))));
+            return null;
+        }
+
+        try {
+            contaService.validarConta(conta.toDTO());
+        } catch (CampoIncorretoException ex) {
+            erros.add(new ErroImportacaoDTO(linha.numero(), ex.getMessage()));
+            return null;
+        }
+
+        return conta;
+    }
+
+    private ContaImportacaoDTO lerLinhaNdjson(String texto) {
+        try {
+            return objectMapper.readValue(texto, ContaImportacaoDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new CampoIncorretoException("JSON inválido: " + ex.getOriginalMessage());
+        }
+    }
+
+    private ContaImportacaoDTO lerLinhaCsv(String texto) {
+        boolean pontoEVirgula = texto.indexOf(';') >= 0;
+        String[] campos = texto.split(pontoEVirgula ? ";" : ",", -1);
+
+        if (campos.length != 4) {
+            throw new CampoIncorretoException("A linha deve conter 4 campos: idCliente, referencia, valor, situacao.");
+        }
+
+        try {
+            ContaImportacaoDTO dto = new ContaImportacaoDTO();
+            dto.setIdCliente(campos[0].isBlank() ? null : Long.valueOf(campos[0].trim()));
+            dto.setReferencia(campos[1].isBlank() ? null : campos[1].trim());
+            dto.setValor(campos[2].isBlank() ? null : new BigDecimal(pontoEVirgula ? campos[2].trim().replace(',', '.') : campos[2].trim()));
+            dto.setSituacao(campos[3].isBlank() ? null : SituacaoConta.valueOf(campos[3].trim().toUpperCase()));
+            return dto;
+        } catch (IllegalArgumentException ex) {
+            throw new CampoIncorretoException("Valor inválido na linha: " + ex.getMessage());
+        }
+    }
+
+    private boolean ehCabecalhoCsv(String texto) {
+        return texto.trim().toLowerCase().startsWith("idcliente");
+    }
+
+    private void registrarErro(ResultadoImportacaoDTO resultado, long linha, String mensagem) {
+        resultado.setLinhasComErro(resultado.getLinhasComErro() + 1);
+
+        if (resultado.getErros().size() < LIMITE_ERROS_REPORTADOS) {
+            resultado.getErros().add(new ErroImportacaoDTO(linha, mensagem));
+        }
+    }
+
+    private record LinhaImportacao(long numero, ContaImportacaoDTO conta) {
+    }
+
+    @Value("${contas.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+}
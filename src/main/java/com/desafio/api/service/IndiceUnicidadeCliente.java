@@ -0,0 +1,131 @@
+package com.desafio.api.service;
+
+import com.desafio.api.config.ContextoRoteamento;
+import com.desafio.api.dtos.ChaveClienteDTO;
+import com.desafio.api.repository.ClienteRepository;
+import com.desafio.api.util.FiltroBloom;
+import com.desafio.api.util.TextoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Component
+public class IndiceUnicidadeCliente {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceUnicidadeCliente.class);
+
+    private static final int TAMANHO_LOTE_CARGA = 10_000;
+
+    private volatile FiltroBloom filtro;
+    private volatile FiltroBloom filtroEmConstrucao;
+
+    public boolean podeExistir(String cpf, String email) {
+        FiltroBloom atual = filtro;
+
+        if (!habilitado || atual == null) {
+            return true;
+        }
+        return (cpf != null && atual.podeConter(chaveCpf(cpf))) || (email != null && atual.podeConter(chaveEmail(email)));
+    }
+
+    // Dentro de uma transação a chave só entra no filtro depois do commit, para que um cadastro desfeito não fique
+    // registrado. Entre o commit e o registro, os índices únicos de CPF e email barram uma duplicidade concorrente.
+    public void registrar(String cpf, String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adicionarNosFiltros(cpf, email);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adicionarNosFiltros(cpf, email);
+            }
+        });
+    }
+
+    // Lido da primária: numa réplica atrasada faltariam os clientes mais recentes e o filtro os daria como inexistentes.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${clientes.indice-unicidade.recarga-ms:3600000}", initialDelayString = "${clientes.indice-unicidade.recarga-ms:3600000}")
+    public void recarregar() {
+        if (!habilitado) {
+            return;
+        }
+
+        ContextoRoteamento.naPrimaria(this::carregar);
+    }
+
+    private void carregar() {
+        long inicio = System.currentTimeMillis();
+        FiltroBloom novo = new FiltroBloom(Math.max(capacidade, clienteRepository.count() * 2), taxaFalsoPositivo);
+        filtroEmConstrucao = novo;
+
+        try {
+            long ultimoId = 0;
+            long total = 0;
+            List<ChaveClienteDTO> chaves;
+
+            do {
+                chaves = clienteRepository.buscarChavesAposId(ultimoId, Limit.of(TAMANHO_LOTE_CARGA));
+
+                for (ChaveClienteDTO chave : chaves) {
+                    adicionar(novo, chave.getCpf(), chave.getEmail());
+                    ultimoId = chave.getId();
+                }
+                total += chaves.size();
+            } while (chaves.size() == TAMANHO_LOTE_CARGA);
+
+            filtro = novo;
+            log.info("Índice de unicidade de clientes carregado com {} clientes em {} ms", total, System.currentTimeMillis() - inicio);
+        } finally {
+            filtroEmConstrucao = null;
+        }
+    }
+
+    private void adicionarNosFiltros(String cpf, String email) {
+        adicionar(filtro, cpf, email);
+        adicionar(filtroEmConstrucao, cpf, email);
+    }
+
+    private void adicionar(FiltroBloom destino, String cpf, String email) {
+        if (destino == null) {
+            return;
+        }
+        if (cpf != null) {
+            destino.adicionar(chaveCpf(cpf));
+        }
+        if (email != null) {
+            destino.adicionar(chaveEmail(email));
+        }
+    }
+
+    private String chaveCpf(String cpf) {
+        return "cpf:" + cpf;
+    }
+
+    private String chaveEmail(String email) {
+        return "email:" + TextoUtil.normalizar(email);
+    }
+
+    @Value("${clientes.indice-unicidade.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${clientes.indice-unicidade.capacidade:1000000}")
+    private long capacidade;
+
+    @Value("${clientes.indice-unicidade.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+}
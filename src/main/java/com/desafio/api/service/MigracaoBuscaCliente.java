@@ -0,0 +1,84 @@
+package com.desafio.api.service;
+
+import com.desafio.api.util.TextoUtil;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Migração versionada do Flyway (registrada pelo Spring Boot por ser um bean): roda uma vez, logo depois da V2
+// criar as colunas de busca, e não a cada inicialização.
+@Component
+public class MigracaoBuscaCliente implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoBuscaCliente.class);
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("3");
+    }
+
+    @Override
+    public String getDescription() {
+        return "preencher campos de busca dos clientes";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    // A normalização sem acentos é feita em Java, então os clientes antigos são preenchidos em lotes por id.
+    @Override
+    public void migrate(Context contexto) throws SQLException {
+        Connection conexao = contexto.getConnection();
+        long ultimoId = 0;
+        long total = 0;
+        int lidos;
+
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                "SELECT ID_CLIENTE, NOME_CLIENTE, EMAIL_CLIENTE FROM TB_CLIENTE " +
+                        "WHERE ID_CLIENTE > ? AND NOME_BUSCA_CLIENTE IS NULL ORDER BY ID_CLIENTE LIMIT " + TAMANHO_LOTE);
+             PreparedStatement atualizacao = conexao.prepareStatement(
+                     "UPDATE TB_CLIENTE SET NOME_BUSCA_CLIENTE = ?, EMAIL_BUSCA_CLIENTE = ? WHERE ID_CLIENTE = ?")) {
+            do {
+                lidos = 0;
+                consulta.setLong(1, ultimoId);
+
+                try (ResultSet clientes = consulta.executeQuery()) {
+                    while (clientes.next()) {
+                        ultimoId = clientes.getLong(1);
+                        atualizacao.setString(1, TextoUtil.normalizar(clientes.getString(2)));
+                        atualizacao.setString(2, TextoUtil.normalizar(clientes.getString(3)));
+                        atualizacao.setLong(3, ultimoId);
+                        atualizacao.addBatch();
+                        lidos++;
+                    }
+                }
+
+                if (lidos > 0) {
+                    atualizacao.executeBatch();
+                }
+                total += lidos;
+            } while (lidos == TAMANHO_LOTE);
+        }
+
+        if (total > 0) {
+            log.info("Campos de busca preenchidos em {} clientes existentes", total);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.AgregadoContaDTO;
+import com.desafio.api.dtos.ContaSituacaoDTO;
+import com.desafio.api.dtos.TotalFaturamentoDTO;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.model.Conta;
+import com.desafio.api.model.ResumoFaturamento;
+import com.desafio.api.repository.ClienteRepository;
+import com.desafio.api.repository.ContaRepository;
+import com.desafio.api.repository.ResumoFaturamentoRepository;
+import com.desafio.api.util.AcumuladorCentavos;
+import com.desafio.api.util.CentavosUtil;
+import com.desafio.api.util.ReferenciaUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class ResumoFaturamentoService {
+
+    private static final SituacaoConta[] SITUACOES = SituacaoConta.values();
+
+    private static final int TAMANHO_LOTE_RECONSTRUCAO = 1000;
+
+    public void registrarInclusao(Conta conta) {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(2);
+        acumular(acumulador, conta, 1);
+        aplicar(acumulador);
+    }
+
+    public void registrarAlteracao(Conta anterior, Conta atual) {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(4);
+        acumular(acumulador, anterior, -1);
+        acumular(acumulador, atual, 1);
+        aplicar(acumulador);
+    }
+
+    public void registrarInclusoes(Collection<Conta> contas) {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(contas.size() * 2);
+
+        for (Conta conta : contas) {
+            acumular(acumulador, conta, 1);
+        }
+
+        aplicar(acumulador);
+    }
+
+    public void registrarTransicoes(Collection<ContaSituacaoDTO> contas, SituacaoConta destino) {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(contas.size() * 4);
+
+        for (ContaSituacaoDTO conta : contas) {
+            long centavos = CentavosUtil.paraCentavos(conta.getValor());
+
+            acumular(acumulador, conta.getIdCliente(), conta.getCompetencia(), conta.getSituacao(), -1, -centavos);
+            acumular(acumulador, conta.getIdCliente(), conta.getCompetencia(), destino, 1, centavos);
+        }
+
+        aplicar(acumulador);
+    }
+
+    public void registrarExclusoes(Collection<ContaSituacaoDTO> contas) {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(contas.size() * 2);
+
+        for (ContaSituacaoDTO conta : contas) {
+            acumular(acumulador, conta.getIdCliente(), conta.getCompetencia(), conta.getSituacao(), -1,
+                    -CentavosUtil.paraCentavos(conta.getValor()));
+        }
+
+        aplicar(acumulador);
+    }
+
+    // O que ainda restar nas linhas do cliente sai também do total geral.
+    @Transactional
+    public void removerCliente(Long idCliente) {
+        AcumuladorCentavos diferenca = new AcumuladorCentavos(16);
+        subtrair(diferenca, resumoFaturamentoRepository.findByIdCliente(idCliente));
+
+        resumoFaturamentoRepository.removerPorCliente(idCliente);
+        somarTotaisGerais(diferenca);
+    }
+
+    public List<TotalFaturamentoDTO> buscarTotaisGerais(String referenciaInicial, String referenciaFinal) {
+        return resumoFaturamentoRepository.somarPorPeriodo(competenciaInicial(referenciaInicial), competenciaFinal(referenciaFinal)).stream()
+                .filter(total -> total.getQuantidade() != 0)
+                .map(total -> novoTotal(total.getCompetencia(), total.getSituacao(), total.getQuantidade(), total.getTotalCentavos()))
+                .toList();
+    }
+
+    public List<TotalFaturamentoDTO> buscarTotaisPorCliente(Long idCliente, String referenciaInicial, String referenciaFinal) {
+        return resumoFaturamentoRepository.buscarPorPeriodo(idCliente, competenciaInicial(referenciaInicial), competenciaFinal(referenciaFinal)).stream()
+                .filter(resumo -> resumo.getQuantidade() != 0)
+                .map(resumo -> novoTotal(resumo.getCompetencia(), resumo.getSituacao(), resumo.getQuantidade(), resumo.getTotalCentavos()))
+                .toList();
+    }
+
+    // Um cliente por transação, com o cliente bloqueado: as gravações concorrentes nesse cliente esperam a
+    // reconstrução terminar e somam sobre o resultado dela, e as que já estavam em andamento entram na contagem.
+    public long reconstruir() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> removerSemCliente());
+
+        long linhas = 0;
+        long ultimoId = 0;
+        List<Long> ids;
+
+        do {
+            ids = clienteRepository.buscarIdsAposId(ultimoId, Limit.of(TAMANHO_LOTE_RECONSTRUCAO));
+
+            for (Long idCliente : ids) {
+                linhas += transacao.execute(status -> reconstruirCliente(idCliente));
+                ultimoId = idCliente;
+            }
+        } while (ids.size() == TAMANHO_LOTE_RECONSTRUCAO);
+
+        return linhas;
+    }
+
+    // O total geral recebe a diferença entre as linhas antigas e as recalculadas do cliente.
+    private long reconstruirCliente(Long idCliente) {
+        if (clienteRepository.bloquearExclusivo(idCliente).isEmpty()) {
+            return 0;
+        }
+
+        AcumuladorCentavos diferenca = new AcumuladorCentavos(16);
+        subtrair(diferenca, resumoFaturamentoRepository.findByIdCliente(idCliente));
+        resumoFaturamentoRepository.removerPorCliente(idCliente);
+
+        List<ResumoFaturamento> resumos = new ArrayList<>();
+
+        for (AgregadoContaDTO agregado : contaRepository.agregarPorCompetenciaSituacao(idCliente)) {
+            long centavos = CentavosUtil.paraCentavos(agregado.getTotal());
+
+            resumos.add(new ResumoFaturamento(null, idCliente, agregado.getCompetencia(), agregado.getSituacao(),
+                    agregado.getQuantidade(), centavos));
+            diferenca.somar(AcumuladorCentavos.chave(idCliente, agregado.getCompetencia(), agregado.getSituacao().ordinal()),
+                    agregado.getQuantidade(), centavos);
+        }
+        resumoFaturamentoRepository.saveAll(resumos);
+        somarTotaisGerais(diferenca);
+
+        return resumos.size();
+    }
+
+    private void removerSemCliente() {
+        List<ResumoFaturamento> orfas = resumoFaturamentoRepository.buscarSemCliente();
+
+        if (orfas.isEmpty()) {
+            return;
+        }
+
+        AcumuladorCentavos diferenca = new AcumuladorCentavos(orfas.size());
+        subtrair(diferenca, orfas);
+
+        resumoFaturamentoRepository.deleteAllInBatch(orfas);
+        somarTotaisGerais(diferenca);
+    }
+
+    private void subtrair(AcumuladorCentavos acumulador, List<ResumoFaturamento> resumos) {
+        for (ResumoFaturamento resumo : resumos) {
+            acumulador.somar(AcumuladorCentavos.chave(resumo.getIdCliente(), resumo.getCompetencia(), resumo.getSituacao().ordinal()),
+                    -resumo.getQuantidade(), -resumo.getTotalCentavos());
+        }
+    }
+
+    private TotalFaturamentoDTO novoTotal(int competencia, SituacaoConta situacao, long quantidade, long centavos) {
+        return new TotalFaturamentoDTO(ReferenciaUtil.paraReferencia(competencia), situacao, quantidade, CentavosUtil.paraDecimal(centavos));
+    }
+
+    private int competenciaInicial(String referencia) {
+        return referencia == null ? 0 : converterCompetencia(referencia);
+    }
+
+    private int competenciaFinal(String referencia) {
+        return referencia == null ? 999999 : converterCompetencia(referencia);
+    }
+
+    private void acumular(AcumuladorCentavos acumulador, Conta conta, int sinal) {
+        acumular(acumulador, conta.getCliente().getId(), conta.getCompetencia(), conta.getSituacao(), sinal,
+                sinal * CentavosUtil.paraCentavos(conta.getValor()));
+    }
+
+    private void acumular(AcumuladorCentavos acumulador, long idCliente, int competencia, SituacaoConta situacao, int sinal, long centavos) {
+        acumulador.somar(AcumuladorCentavos.chave(idCliente, competencia, situacao.ordinal()), sinal, centavos);
+    }
+
+    private void aplicar(AcumuladorCentavos acumulador) {
+        Set<Long> clientes = new TreeSet<>();
+
+        acumulador.paraCada((chave, quantidade, centavos) -> {
+            if (quantidade != 0 || centavos != 0) {
+                clientes.add(AcumuladorCentavos.idCliente(chave));
+            }
+        });
+
+        if (clientes.isEmpty()) {
+            return;
+        }
+
+        clienteRepository.bloquearCompartilhado(clientes);
+        acumulador.paraCadaEmOrdem((chave, quantidade, centavos) -> somar(AcumuladorCentavos.idCliente(chave), chave, quantidade, centavos));
+        somarTotaisGerais(acumulador);
+    }
+
+    // Agrupa as diferenças por faixa e as grava depois das linhas dos clientes, sempre na mesma ordem, para que
+    // duas transações não bloqueiem as mesmas faixas em ordem inversa.
+    private void somarTotaisGerais(AcumuladorCentavos porCliente) {
+        AcumuladorCentavos faixas = new AcumuladorCentavos(porCliente.tamanho());
+
+        // A chave do acumulador só guarda ids positivos: a faixa entra com o sinal trocado.
+        porCliente.paraCada((chave, quantidade, centavos) -> faixas.somar(
+                AcumuladorCentavos.chave(-ResumoFaturamento.idFaixaTotalGeral(AcumuladorCentavos.idCliente(chave)),
+                        AcumuladorCentavos.competencia(chave), AcumuladorCentavos.situacao(chave)),
+                quantidade, centavos));
+
+        faixas.paraCadaEmOrdem((chave, quantidade, centavos) ->
+                somar(-AcumuladorCentavos.idCliente(chave), chave, quantidade, centavos));
+    }
+
+    private void somar(Long idCliente, long chave, long quantidade, long centavos) {
+        if (quantidade == 0 && centavos == 0) {
+            return;
+        }
+
+        Integer competencia = AcumuladorCentavos.competencia(chave);
+        SituacaoConta situacao = SITUACOES[AcumuladorCentavos.situacao(chave)];
+
+        int alteradas = resumoFaturamentoRepository.somar(idCliente, competencia, situacao, quantidade, centavos);
+
+        if (alteradas == 0) {
+            resumoFaturamentoRepository.criarSeAusente(idCliente, competencia, situacao);
+            resumoFaturamentoRepository.somar(idCliente, competencia, situacao, quantidade, centavos);
+        }
+    }
+
+    private int converterCompetencia(String referencia) {
+        if (!ReferenciaUtil.isValida(referencia)) {
+            throw new ConsultaInvalidaException("Referência inválida: " + referencia + ". Use MM-AAAA");
+        }
+        return ReferenciaUtil.paraCompetencia(referencia);
+    }
+
+    @Autowired
+    private ResumoFaturamentoRepository resumoFaturamentoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+}
@@ -0,0 +1,65 @@
+package com.desafio.api.service;
+
+import com.desafio.api.model.RevisaoCliente;
+import com.desafio.api.repository.RevisaoClienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+@Service
+public class RevisaoClienteService {
+
+    // Cliente sem linha de revisão nunca foi alterado desde a criação da tabela e responde com a revisão 0.
+    public Optional<RevisaoCliente> buscarRevisao(Long idCliente) {
+        return revisaoClienteRepository.findById(idCliente);
+    }
+
+    public Optional<RevisaoCliente> buscarRevisaoListaClientes() {
+        return Optional.ofNullable(revisaoClienteRepository.somarFaixasListaClientes())
+                .filter(revisao -> revisao.getNumero() != null);
+    }
+
+    public void registrarAlteracaoListaClientes(Long idCliente) {
+        incrementar(List.of(RevisaoCliente.idFaixaListaClientes(idCliente)));
+    }
+
+    public void registrarAlteracaoContas(Long idCliente) {
+        incrementar(List.of(idCliente));
+    }
+
+    public void registrarAlteracaoContas(Collection<Long> idsClientes) {
+        incrementar(idsClientes);
+    }
+
+    // As contas trazem os dados do cliente, então alterar o cliente também invalida a listagem de contas dele.
+    public void registrarAlteracaoCliente(Long idCliente) {
+        incrementar(List.of(RevisaoCliente.idFaixaListaClientes(idCliente), idCliente));
+    }
+
+    private void incrementar(Collection<Long> idsClientes) {
+        if (idsClientes.isEmpty()) {
+            return;
+        }
+
+        // Ordenado para que transações concorrentes travem as linhas sempre na mesma ordem.
+        TreeSet<Long> ids = new TreeSet<>(idsClientes);
+        Instant agora = Instant.now();
+
+        if (revisaoClienteRepository.incrementar(ids, agora) == ids.size()) {
+            return;
+        }
+
+        TreeSet<Long> ausentes = new TreeSet<>(ids);
+        ausentes.removeAll(revisaoClienteRepository.buscarExistentes(ids));
+        ausentes.forEach(idCliente -> revisaoClienteRepository.criarSeAusente(idCliente, agora));
+        revisaoClienteRepository.incrementar(ausentes, agora);
+    }
+
+    @Autowired
+    private RevisaoClienteRepository revisaoClienteRepository;
+}
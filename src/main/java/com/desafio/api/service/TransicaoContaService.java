@@ -0,0 +1,154 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.constants.TipoEvento;
+import com.desafio.api.dtos.ContaSituacaoDTO;
+import com.desafio.api.dtos.ResultadoTransicaoDTO;
+import com.desafio.api.dtos.TransicaoContasDTO;
+import com.desafio.api.exception.CampoIncorretoException;
+import com.desafio.api.repository.ContaRepository;
+import com.desafio.api.util.ReferenciaUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+public class TransicaoContaService {
+
+    private static final int LIMITE_IDS_REJEITADOS = 1000;
+
+    public ResultadoTransicaoDTO alterarSituacao(TransicaoContasDTO transicao) {
+        validarTransicao(transicao);
+
+        ResultadoTransicaoDTO resultado = new ResultadoTransicaoDTO();
+
+        if (transicao.getIds() != null) {
+            alterarPorIds(transicao, resultado);
+        } else {
+            alterarPorFiltro(transicao, resultado);
+        }
+
+        return resultado;
+    }
+
+    private void alterarPorIds(TransicaoContasDTO transicao, ResultadoTransicaoDTO resultado) {
+        List<Long> ids = new ArrayList<>(new TreeSet<>(transicao.getIds()));
+
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> processarLote(lote, transicao.getSituacao(), resultado));
+        }
+    }
+
+    private void alterarPorFiltro(TransicaoContasDTO transicao, ResultadoTransicaoDTO resultado) {
+        Integer competencia = transicao.getReferencia() == null ? null : ReferenciaUtil.paraCompetencia(transicao.getReferencia());
+        List<SituacaoConta> situacoes = transicao.getSituacaoAtual() == null
+                ? List.of(SituacaoConta.values()) : List.of(transicao.getSituacaoAtual());
+
+        long[] ultimoId = {0L};
+        boolean continuar;
+
+        do {
+            continuar = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<Long> lote = contaRepository.buscarIdsAposId(ultimoId[0], transicao.getIdCliente(), competencia,
+                        situacoes, Limit.of(tamanhoLote));
+
+                if (lote.isEmpty()) {
+                    return false;
+                }
+
+                ultimoId[0] = lote.get(lote.size() - 1);
+                processarLote(lote, transicao.getSituacao(), resultado);
+
+                return lote.size() == tamanhoLote;
+            }));
+        } while (continuar);
+    }
+
+    private void processarLote(Collection<Long> ids, SituacaoConta destino, ResultadoTransicaoDTO resultado) {
+        Set<Long> naoEncontrados = new HashSet<>(ids);
+        List<ContaSituacaoDTO> elegiveis = new ArrayList<>(ids.size());
+
+        for (ContaSituacaoDTO conta : contaRepository.bloquearSituacoes(ids)) {
+            naoEncontrados.remove(conta.getId());
+
+            if (podeAlterar(conta.getSituacao(), destino)) {
+                elegiveis.add(conta);
+            } else {
+                rejeitar(resultado, conta.getId());
+            }
+        }
+
+        naoEncontrados.forEach(id -> rejeitar(resultado, id));
+
+        if (elegiveis.isEmpty()) {
+            return;
+        }
+
+        int alteradas = contaRepository.alterarSituacao(elegiveis.stream().map(ContaSituacaoDTO::getId).toList(), destino);
+        resumoFaturamentoService.registrarTransicoes(elegiveis, destino);
+        revisaoClienteService.registrarAlteracaoContas(elegiveis.stream().map(ContaSituacaoDTO::getIdCliente).collect(Collectors.toSet()));
+        eventoAlteracaoService.registrarTodos(elegiveis.stream()
+                .map(conta -> eventoAlteracaoService.novoEventoConta(TipoEvento.CONTA_SITUACAO_ALTERADA, conta, destino))
+                .toList());
+
+        resultado.setContasAlteradas(resultado.getContasAlteradas() + alteradas);
+    }
+
+    private boolean podeAlterar(SituacaoConta atual, SituacaoConta destino) {
+        return atual != SituacaoConta.CANCELADA && atual != destino;
+    }
+
+    private void rejeitar(ResultadoTransicaoDTO resultado, Long id) {
+        resultado.setContasRejeitadas(resultado.getContasRejeitadas() + 1);
+
+        if (resultado.getIdsRejeitados().size() < LIMITE_IDS_REJEITADOS) {
+            resultado.getIdsRejeitados().add(id);
+        }
+    }
+
+    private void validarTransicao(TransicaoContasDTO transicao) {
+        boolean possuiFiltro = transicao.getIdCliente() != null || transicao.getReferencia() != null || transicao.getSituacaoAtual() != null;
+
+        if (transicao.getSituacao() == null) {
+            throw new CampoIncorretoException("O Campo Situação é Obrigatório.");
+        }
+        if (transicao.getIds() == null && !possuiFiltro) {
+            throw new CampoIncorretoException("Informe os ids das contas ou um filtro (idCliente, referencia, situacaoAtual).");
+        }
+        if (transicao.getIds() != null && possuiFiltro) {
+            throw new CampoIncorretoException("Informe os ids das contas ou um filtro, não ambos.");
+        }
+        if (transicao.getReferencia() != null && !ReferenciaUtil.isValida(transicao.getReferencia())) {
+            throw new CampoIncorretoException("Formato inválido. Use MM-AAAA ");
+        }
+    }
+
+    @Value("${contas.transicao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    @Autowired
+    private RevisaoClienteService revisaoClienteService;
+
+    @Autowired
+    private EventoAlteracaoService eventoAlteracaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+}
@@ -0,0 +1,132 @@
+package com.desafio.api.util;
+
+import java.util.Arrays;
+
+public class AcumuladorCentavos {
+
+    private static final long VAZIO = Long.MIN_VALUE;
+    private static final int MAXIMO_INDICE_MES = 0x1FFFF;
+
+    private long[] chaves;
+    private long[] quantidades;
+    private long[] totais;
+    private int tamanho;
+
+    public AcumuladorCentavos(int capacidadeInicial) {
+        int capacidade = Integer.highestOneBit(Math.max(16, capacidadeInicial * 2 - 1)) << 1;
+        alocar(capacidade);
+    }
+
+    // 17 bits de índice de mês cobrem todos os anos de quatro dígitos (até 12-9999, índice 119999); além disso a
+    // competência invadiria os bits do cliente, que ainda tem 45 bits.
+    public static long chave(long idCliente, int competencia, int situacao) {
+        int indiceMes = ReferenciaUtil.indiceMes(competencia);
+
+        if (indiceMes < 0 || indiceMes > MAXIMO_INDICE_MES) {
+            throw new IllegalArgumentException("Competência fora do intervalo suportado: " + competencia);
+        }
+        return (idCliente << 19) | ((long) indiceMes << 2) | situacao;
+    }
+
+    public static long idCliente(long chave) {
+        return chave >>> 19;
+    }
+
+    public static int competencia(long chave) {
+        return ReferenciaUtil.competenciaDoIndice((int) ((chave >>> 2) & MAXIMO_INDICE_MES));
+    }
+
+    public static int situacao(long chave) {
+        return (int) (chave & 0b11);
+    }
+
+    public void somar(long chave, long quantidade, long centavos) {
+        if ((tamanho + 1) * 2 > chaves.length) {
+            redimensionar();
+        }
+
+        int posicao = posicao(chave, chaves);
+
+        if (chaves[posicao] == VAZIO) {
+            chaves[posicao] = chave;
+            tamanho++;
+        }
+        quantidades[posicao] += quantidade;
+        totais[posicao] = Math.addExact(totais[posicao], centavos);
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public void paraCada(Consumidor consumidor) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != VAZIO) {
+                consumidor.aceitar(chaves[i], quantidades[i], totais[i]);
+            }
+        }
+    }
+
+    public void paraCadaEmOrdem(Consumidor consumidor) {
+        long[] ordenadas = new long[tamanho];
+        int quantidade = 0;
+
+        for (long chave : chaves) {
+            if (chave != VAZIO) {
+                ordenadas[quantidade++] = chave;
+            }
+        }
+        Arrays.sort(ordenadas);
+
+        for (long chave : ordenadas) {
+            int posicao = posicao(chave, chaves);
+            consumidor.aceitar(chave, quantidades[posicao], totais[posicao]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Consumidor {
+        void aceitar(long chave, long quantidade, long centavos);
+    }
+
+    private int posicao(long chave, long[] tabela) {
+        int mascara = tabela.length - 1;
+        int posicao = (int) (misturar(chave) & mascara);
+
+        while (tabela[posicao] != VAZIO && tabela[posicao] != chave) {
+            posicao = (posicao + 1) & mascara;
+        }
+        return posicao;
+    }
+
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        long[] quantidadesAntigas = quantidades;
+        long[] totaisAntigos = totais;
+
+        alocar(chavesAntigas.length * 2);
+
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != VAZIO) {
+                int posicao = posicao(chavesAntigas[i], chaves);
+                chaves[posicao] = chavesAntigas[i];
+                quantidades[posicao] = quantidadesAntigas[i];
+                totais[posicao] = totaisAntigos[i];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        quantidades = new long[capacidade];
+        totais = new long[capacidade];
+        Arrays.fill(chaves, VAZIO);
+    }
+
+    private static long misturar(long chave) {
+        chave ^= chave >>> 33;
+        chave *= 0xff51afd7ed558ccdL;
+        chave ^= chave >>> 33;
+        return chave;
+    }
+}
@@ -0,0 +1,18 @@
+package com.desafio.api.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class CentavosUtil {
+
+    private CentavosUtil() {
+    }
+
+    public static long paraCentavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal paraDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
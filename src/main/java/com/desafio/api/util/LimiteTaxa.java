@@ -0,0 +1,41 @@
+package com.desafio.api.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Balde de fichas sem lock (GCRA): em vez de fichas e último reabastecimento, guarda só o instante teórico em que
+// o balde volta a ficar cheio, atualizado por compare-and-set. Admite rajadas de até "rajada" requisições e,
+// em regime, "taxaPorSegundo".
+public class LimiteTaxa {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    public LimiteTaxa(double taxaPorSegundo, int rajada, long agoraNanos) {
+        if (taxaPorSegundo <= 0 || rajada < 1) {
+            throw new IllegalArgumentException("Taxa e rajada devem ser positivas");
+        }
+
+        this.intervaloNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / taxaPorSegundo));
+        this.toleranciaNanos = intervaloNanos * rajada;
+        this.cheioEm = new AtomicLong(agoraNanos);
+    }
+
+    // Retorna 0 quando a requisição foi admitida, ou quantos nanossegundos faltam para haver uma ficha.
+    public long consumir(long agoraNanos) {
+        while (true) {
+            long atual = cheioEm.get();
+            long proximo = Math.max(atual, agoraNanos) + intervaloNanos;
+            long excesso = proximo - agoraNanos - toleranciaNanos;
+
+            if (excesso > 0) {
+                return excesso;
+            }
+
+            if (cheioEm.compareAndSet(atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+}
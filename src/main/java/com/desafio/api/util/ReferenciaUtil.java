@@ -0,0 +1,33 @@
+package com.desafio.api.util;
+
+public final class ReferenciaUtil {
+
+    public static final String PADRAO_REFERENCIA = "^(0[1-9]|1[0-2])-(\\d{4})$";
+
+    private ReferenciaUtil() {
+    }
+
+    public static boolean isValida(String referencia) {
+        return referencia != null && referencia.matches(PADRAO_REFERENCIA);
+    }
+
+    public static int paraCompetencia(String referencia) {
+        if (!isValida(referencia)) {
+            throw new IllegalArgumentException("Referência inválida: " + referencia + ". Use MM-AAAA");
+        }
+        return Integer.parseInt(referencia.substring(3)) * 100 + Integer.parseInt(referencia.substring(0, 2));
+    }
+
+    public static String paraReferencia(int competencia) {
+        return String.format("%02d-%04d", competencia % 100, competencia / 100);
+    }
+
+    // Meses contados desde janeiro do ano 0, para ordenar e comparar competências como inteiros contíguos.
+    public static int indiceMes(int competencia) {
+        return (competencia / 100) * 12 + (competencia % 100) - 1;
+    }
+
+    public static int competenciaDoIndice(int indiceMes) {
+        return (indiceMes / 12) * 100 + (indiceMes % 12) + 1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.desafio.api.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextoUtil {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D");
+
+    private TextoUtil() {
+    }
+
+    // Forma usada nos índices de busca: sem acentos, minúscula e com espaços simples.
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public static String somenteDigitos(String texto) {
+        return texto == null ? null : NAO_DIGITOS.matcher(texto).replaceAll("");
+    }
+}
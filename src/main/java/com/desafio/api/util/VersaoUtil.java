@@ -0,0 +1,76 @@
+package com.desafio.api.util;
+
+import com.desafio.api.exception.CampoIncorretoException;
+import com.desafio.api.exception.VersaoConflitanteException;
+import com.desafio.api.model.RevisaoCliente;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+public final class VersaoUtil {
+
+    private VersaoUtil() {
+    }
+
+    public static String paraETag(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    // ETag fraco nas listagens: o mesmo conteúdo sai em JSON, CBOR ou Smile, com ou sem gzip, e o Tomcat
+    // não comprime respostas com ETag forte.
+    public static String paraETagFraco(Long versao) {
+        return "W/" + paraETag(versao);
+    }
+
+    public static boolean naoModificado(WebRequest requisicao, Optional<RevisaoCliente> revisao) {
+        return requisicao.checkNotModified(paraETagFraco(numeroRevisao(revisao)), ultimaAlteracao(revisao));
+    }
+
+    public static HttpHeaders cabecalhosRevisao(Optional<RevisaoCliente> revisao) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setETag(paraETagFraco(numeroRevisao(revisao)));
+        cabecalhos.setCacheControl(CacheControl.noCache());
+        cabecalhos.setVary(List.of(HttpHeaders.ACCEPT));
+
+        if (revisao.isPresent()) {
+            cabecalhos.setLastModified(ultimaAlteracao(revisao));
+        }
+        return cabecalhos;
+    }
+
+    private static long numeroRevisao(Optional<RevisaoCliente> revisao) {
+        return revisao.map(RevisaoCliente::getNumero).orElse(0L);
+    }
+
+    private static long ultimaAlteracao(Optional<RevisaoCliente> revisao) {
+        return revisao.map(atual -> atual.getAlteradoEm().toEpochMilli()).orElse(-1L);
+    }
+
+    // Retorna null quando o cabeçalho está ausente ou é "*", ou seja, quando qualquer versão é aceita.
+    public static Long lerIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String valor = ifMatch.trim();
+
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new CampoIncorretoException("If-Match inválido: " + ifMatch);
+        }
+    }
+
+    public static void verificar(Long versaoEsperada, Long versaoAtual) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw new VersaoConflitanteException("O registro foi alterado por outra requisição. Versão atual: " + versaoAtual);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- A rotina de cobrança passou a gravar um evento para cada conta sinalizada em atraso.
+
+ALTER TABLE TB_EVENTO_ALTERACAO DROP CONSTRAINT IF EXISTS TB_EVENTO_ALTERACAO_TIPO_EVENTO_CHECK;
+
+ALTER TABLE TB_EVENTO_ALTERACAO ADD CONSTRAINT TB_EVENTO_ALTERACAO_TIPO_EVENTO_CHECK CHECK (TIPO_EVENTO IN (
+    'CLIENTE_CRIADO','CLIENTE_ATUALIZADO','CLIENTE_REMOVIDO',
+    'CONTA_CRIADA','CONTA_ATUALIZADA','CONTA_SITUACAO_ALTERADA','CONTA_SINALIZADA_EM_ATRASO'));
@@ -0,0 +1,13 @@
+-- O total geral de faturamento passou a ser mantido em faixas (CLIENTE_ID de -1 a -16, escolhidas pelo id do
+-- cliente), atualizadas junto com as linhas do cliente. A leitura soma só as faixas, em vez de todas as linhas
+-- dos clientes no período. As faixas começam com a soma atual das linhas dos clientes.
+
+INSERT INTO TB_RESUMO_FATURAMENTO (ID_RESUMO, CLIENTE_ID, COMPETENCIA_RESUMO, SITUACAO_RESUMO, QUANTIDADE_RESUMO, TOTAL_CENTAVOS_RESUMO)
+SELECT nextval('SEQ_RESUMO_FATURAMENTO'), FAIXA, COMPETENCIA_RESUMO, SITUACAO_RESUMO, QUANTIDADE, TOTAL_CENTAVOS
+FROM (
+    SELECT -1 - MOD(CLIENTE_ID, 16) AS FAIXA, COMPETENCIA_RESUMO, SITUACAO_RESUMO,
+           SUM(QUANTIDADE_RESUMO) AS QUANTIDADE, SUM(TOTAL_CENTAVOS_RESUMO) AS TOTAL_CENTAVOS
+    FROM TB_RESUMO_FATURAMENTO
+    WHERE CLIENTE_ID > 0
+    GROUP BY -1 - MOD(CLIENTE_ID, 16), COMPETENCIA_RESUMO, SITUACAO_RESUMO
+) FAIXAS;
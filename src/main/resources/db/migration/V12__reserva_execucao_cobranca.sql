@@ -0,0 +1,10 @@
+-- A execução de cobrança passa a ser reservada no banco pela instância que a coordena: só a dona, com a reserva
+-- renovada a cada lote agendado, agenda lotes e conclui a execução. Outra instância só assume depois que a reserva vence.
+
+ALTER TABLE TB_EXECUCAO_COBRANCA ADD COLUMN IF NOT EXISTS DONO_EXECUCAO VARCHAR(64);
+
+ALTER TABLE TB_EXECUCAO_COBRANCA ADD COLUMN IF NOT EXISTS RESERVADA_ATE_EXECUCAO TIMESTAMP(6) WITH TIME ZONE;
+
+-- No máximo uma execução em andamento: duas instâncias que iniciam ao mesmo tempo não criam execuções separadas.
+CREATE UNIQUE INDEX IF NOT EXISTS UK_EXECUCAO_EM_ANDAMENTO ON TB_EXECUCAO_COBRANCA (SITUACAO_EXECUCAO)
+    WHERE SITUACAO_EXECUCAO = 'EM_ANDAMENTO';
@@ -0,0 +1,21 @@
+-- Esquema que o ddl-auto=update criava antes das migrações. Bancos já existentes são marcados na versão 0
+-- (spring.flyway.baseline-on-migrate) e passam por este script sem alteração; bancos vazios são criados por ele.
+
+CREATE TABLE IF NOT EXISTS TB_CLIENTE (
+    ID_CLIENTE BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    NOME_CLIENTE VARCHAR(255) NOT NULL,
+    CPF_CLIENTE VARCHAR(255) NOT NULL UNIQUE,
+    TELEFONE_CLIENTE VARCHAR(255),
+    EMAIL_CLIENTE VARCHAR(255),
+    PRIMARY KEY (ID_CLIENTE)
+);
+
+CREATE TABLE IF NOT EXISTS TB_CONTA (
+    ID_CONTA BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    REFERENCIA_CONTA VARCHAR(255) NOT NULL,
+    VALOR_CONTA FLOAT(53) NOT NULL,
+    SITUACAO_CONTA SMALLINT NOT NULL CHECK (SITUACAO_CONTA BETWEEN 0 AND 2),
+    CLIENTE_ID BIGINT NOT NULL,
+    PRIMARY KEY (ID_CONTA),
+    CONSTRAINT FK_CONTA_CLIENTE FOREIGN KEY (CLIENTE_ID) REFERENCES TB_CLIENTE
+);
@@ -0,0 +1,92 @@
+-- Colunas, tabelas e índices acrescentados depois do esquema original. Tudo é condicional porque bancos
+-- criados pelo ddl-auto em versões intermediárias já podem ter parte deles.
+
+ALTER TABLE TB_CLIENTE ADD COLUMN IF NOT EXISTS VERSAO_CLIENTE BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE TB_CLIENTE ADD COLUMN IF NOT EXISTS NOME_BUSCA_CLIENTE VARCHAR(255);
+ALTER TABLE TB_CLIENTE ADD COLUMN IF NOT EXISTS EMAIL_BUSCA_CLIENTE VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS IDX_CLIENTE_NOME_ID ON TB_CLIENTE (NOME_CLIENTE, ID_CLIENTE);
+CREATE INDEX IF NOT EXISTS IDX_CLIENTE_EMAIL ON TB_CLIENTE (EMAIL_CLIENTE);
+CREATE INDEX IF NOT EXISTS IDX_CLIENTE_NOME_BUSCA ON TB_CLIENTE (NOME_BUSCA_CLIENTE, ID_CLIENTE);
+CREATE INDEX IF NOT EXISTS IDX_CLIENTE_EMAIL_BUSCA ON TB_CLIENTE (EMAIL_BUSCA_CLIENTE);
+
+ALTER TABLE TB_CONTA ADD COLUMN IF NOT EXISTS VERSAO_CONTA BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE TB_CONTA ADD COLUMN IF NOT EXISTS COMPETENCIA_CONTA INTEGER;
+ALTER TABLE TB_CONTA ADD COLUMN IF NOT EXISTS EM_ATRASO_CONTA BOOLEAN DEFAULT FALSE NOT NULL;
+
+-- Valores gravados como float8 são arredondados para centavos na conversão.
+ALTER TABLE TB_CONTA ALTER COLUMN VALOR_CONTA TYPE NUMERIC(15,2);
+
+CREATE INDEX IF NOT EXISTS IDX_CONTA_CLIENTE_COMPETENCIA ON TB_CONTA (CLIENTE_ID, COMPETENCIA_CONTA);
+
+-- Os ids de conta passaram a vir de uma sequência com blocos de 50; ela continua depois do maior id já usado.
+CREATE SEQUENCE IF NOT EXISTS SEQ_CONTA START WITH 1 INCREMENT BY 50;
+
+SELECT setval('SEQ_CONTA', GREATEST((SELECT last_value FROM SEQ_CONTA), (SELECT COALESCE(MAX(ID_CONTA), 0) + 50 FROM TB_CONTA)));
+
+CREATE SEQUENCE IF NOT EXISTS SEQ_RESUMO_FATURAMENTO START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS TB_RESUMO_FATURAMENTO (
+    ID_RESUMO BIGINT NOT NULL,
+    CLIENTE_ID BIGINT NOT NULL,
+    COMPETENCIA_RESUMO INTEGER NOT NULL,
+    SITUACAO_RESUMO SMALLINT NOT NULL CHECK (SITUACAO_RESUMO BETWEEN 0 AND 2),
+    QUANTIDADE_RESUMO BIGINT NOT NULL,
+    TOTAL_CENTAVOS_RESUMO BIGINT NOT NULL,
+    PRIMARY KEY (ID_RESUMO),
+    CONSTRAINT UK_RESUMO_CLIENTE_COMPETENCIA_SITUACAO UNIQUE (CLIENTE_ID, COMPETENCIA_RESUMO, SITUACAO_RESUMO)
+);
+
+CREATE TABLE IF NOT EXISTS TB_REVISAO_CLIENTE (
+    CLIENTE_ID BIGINT NOT NULL,
+    NUMERO_REVISAO BIGINT NOT NULL,
+    ALTERADO_EM_REVISAO TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (CLIENTE_ID)
+);
+
+CREATE TABLE IF NOT EXISTS TB_EVENTO_ALTERACAO (
+    ID_EVENTO BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    TIPO_EVENTO VARCHAR(40) NOT NULL CHECK (TIPO_EVENTO IN ('CLIENTE_CRIADO','CLIENTE_ATUALIZADO','CLIENTE_REMOVIDO',
+        'CONTA_CRIADA','CONTA_ATUALIZADA','CONTA_SITUACAO_ALTERADA')),
+    ID_ENTIDADE_EVENTO BIGINT NOT NULL,
+    ID_CLIENTE_EVENTO BIGINT NOT NULL,
+    DADOS_EVENTO VARCHAR(4000),
+    CRIADO_EM_EVENTO TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (ID_EVENTO)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_EVENTO_CRIADO_EM ON TB_EVENTO_ALTERACAO (CRIADO_EM_EVENTO);
+
+CREATE TABLE IF NOT EXISTS TB_EXECUCAO_COBRANCA (
+    ID_EXECUCAO BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    COMPETENCIA_LIMITE_EXECUCAO INTEGER NOT NULL,
+    SITUACAO_EXECUCAO VARCHAR(20) NOT NULL CHECK (SITUACAO_EXECUCAO IN ('EM_ANDAMENTO','CONCLUIDA')),
+    ULTIMO_ID_AGENDADO_EXECUCAO BIGINT NOT NULL,
+    LINHAS_EXECUCAO BIGINT NOT NULL,
+    CONTAS_SINALIZADAS_EXECUCAO BIGINT NOT NULL,
+    INICIADA_EM_EXECUCAO TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONCLUIDA_EM_EXECUCAO TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (ID_EXECUCAO)
+);
+
+CREATE TABLE IF NOT EXISTS TB_LOTE_COBRANCA (
+    ID_LOTE BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    ID_EXECUCAO BIGINT NOT NULL,
+    ID_INICIAL_LOTE BIGINT NOT NULL,
+    ID_FINAL_LOTE BIGINT NOT NULL,
+    CONCLUIDO_LOTE BOOLEAN NOT NULL,
+    PRIMARY KEY (ID_LOTE)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_LOTE_COBRANCA_EXECUCAO ON TB_LOTE_COBRANCA (ID_EXECUCAO, CONCLUIDO_LOTE);
+
+CREATE TABLE IF NOT EXISTS TB_RESUMO_COBRANCA (
+    ID_RESUMO_COBRANCA BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    ID_EXECUCAO BIGINT NOT NULL,
+    CLIENTE_ID BIGINT NOT NULL,
+    QUANTIDADE_COBRANCA BIGINT NOT NULL,
+    TOTAL_CENTAVOS_COBRANCA BIGINT NOT NULL,
+    COMPETENCIA_ANTIGA_COBRANCA INTEGER NOT NULL,
+    PRIMARY KEY (ID_RESUMO_COBRANCA),
+    CONSTRAINT UK_RESUMO_COBRANCA_EXECUCAO_CLIENTE UNIQUE (ID_EXECUCAO, CLIENTE_ID)
+);
@@ -0,0 +1,4 @@
+-- Competência (AAAAMM) das contas gravadas antes da coluna existir; as novas já chegam preenchidas pela entidade.
+UPDATE TB_CONTA
+SET COMPETENCIA_CONTA = CAST(SUBSTRING(REFERENCIA_CONTA, 4, 4) AS INTEGER) * 100 + CAST(SUBSTRING(REFERENCIA_CONTA, 1, 2) AS INTEGER)
+WHERE COMPETENCIA_CONTA IS NULL;
@@ -0,0 +1,8 @@
+-- A busca compara prefixos (LIKE 'abc%') e ordena pela mesma coluna. Com a colação padrão do banco (ex.: pt-BR)
+-- o btree não atende LIKE e a consulta varre a tabela; com COLLATE "C" o mesmo índice serve ao prefixo e à ordem.
+-- Os campos já chegam normalizados (minúsculas, sem acentos) ou só com dígitos, então a ordem binária basta.
+-- Conferir com EXPLAIN: "Index Cond: ((nome_busca_cliente >= 'abc') AND (nome_busca_cliente < 'abd'))".
+
+ALTER TABLE TB_CLIENTE ALTER COLUMN NOME_BUSCA_CLIENTE TYPE VARCHAR(255) COLLATE "C";
+ALTER TABLE TB_CLIENTE ALTER COLUMN EMAIL_BUSCA_CLIENTE TYPE VARCHAR(255) COLLATE "C";
+ALTER TABLE TB_CLIENTE ALTER COLUMN CPF_CLIENTE TYPE VARCHAR(255) COLLATE "C";
@@ -0,0 +1,6 @@
+-- O email passa a ser único na forma normalizada (sem maiúsculas nem acentos), a mesma usada na validação do
+-- cadastro. Bases com emails repetidos nessa forma precisam ser corrigidas antes desta migração.
+
+DROP INDEX IF EXISTS IDX_CLIENTE_EMAIL_BUSCA;
+
+CREATE UNIQUE INDEX IF NOT EXISTS UK_CLIENTE_EMAIL_BUSCA ON TB_CLIENTE (EMAIL_BUSCA_CLIENTE);
@@ -0,0 +1,6 @@
+-- O total geral de faturamento passou a ser somado na leitura a partir das linhas por cliente; a linha geral
+-- (CLIENTE_ID = 0) concentrava as atualizações de todas as gravações de conta.
+
+DELETE FROM TB_RESUMO_FATURAMENTO WHERE CLIENTE_ID = 0;
+
+CREATE INDEX IF NOT EXISTS IDX_RESUMO_COMPETENCIA_SITUACAO ON TB_RESUMO_FATURAMENTO (COMPETENCIA_RESUMO, SITUACAO_RESUMO);
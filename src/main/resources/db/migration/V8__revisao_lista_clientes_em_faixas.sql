@@ -0,0 +1,4 @@
+-- A revisão da lista de clientes passou de uma linha única (CLIENTE_ID = 0) para faixas com CLIENTE_ID de -1 a -16,
+-- somadas na leitura. A linha antiga vira a primeira faixa, para que o ETag da lista continue crescendo.
+
+UPDATE TB_REVISAO_CLIENTE SET CLIENTE_ID = -1 WHERE CLIENTE_ID = 0;
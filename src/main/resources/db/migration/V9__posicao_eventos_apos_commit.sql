@@ -0,0 +1,20 @@
+-- O feed de eventos passou a ser ordenado pela posição atribuída depois do commit, e não mais pelo id com uma
+-- janela de atraso. Os eventos já gravados recebem posição igual ao id, e a publicação continua a partir do
+-- maior deles, então os offsets guardados pelos consumidores continuam valendo.
+
+ALTER TABLE TB_EVENTO_ALTERACAO ADD COLUMN IF NOT EXISTS POSICAO_EVENTO BIGINT;
+
+UPDATE TB_EVENTO_ALTERACAO SET POSICAO_EVENTO = ID_EVENTO WHERE POSICAO_EVENTO IS NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS UK_EVENTO_POSICAO ON TB_EVENTO_ALTERACAO (POSICAO_EVENTO);
+CREATE INDEX IF NOT EXISTS IDX_EVENTO_NAO_PUBLICADO ON TB_EVENTO_ALTERACAO (ID_EVENTO) WHERE POSICAO_EVENTO IS NULL;
+
+CREATE TABLE IF NOT EXISTS TB_PUBLICACAO_EVENTO (
+    ID_PUBLICACAO BIGINT NOT NULL,
+    ULTIMA_POSICAO_PUBLICACAO BIGINT NOT NULL,
+    PRIMARY KEY (ID_PUBLICACAO)
+);
+
+INSERT INTO TB_PUBLICACAO_EVENTO (ID_PUBLICACAO, ULTIMA_POSICAO_PUBLICACAO)
+SELECT 1, COALESCE(MAX(POSICAO_EVENTO), 0) FROM TB_EVENTO_ALTERACAO
+ON CONFLICT DO NOTHING;
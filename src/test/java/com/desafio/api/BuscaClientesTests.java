@@ -0,0 +1,61 @@
+package com.desafio.api;
+
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.service.ClienteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Busca e paginação por cursor rodam no H2 do perfil de teste, para conferir as consultas e não só o serviço.
+@SpringBootTest
+@ActiveProfiles("test")
+class BuscaClientesTests {
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Test
+	void buscarClientes_DeveAplicarTodosOsCriteriosAntesDoLimite_QuandoHouverMaisDeUmCriterio() {
+		cadastrar("Prefixo Outro", "55501000001", "busca.a@teste.com");
+		cadastrar("Prefixo Outro", "55501000002", "busca.b@teste.com");
+		cadastrar("Prefixo Alvo", "55501000003", "busca.c@teste.com");
+
+		List<ClienteDTO> resultado = clienteService.buscarClientes("prefixo alvo", "555010", null, 1);
+
+		assertEquals(List.of("55501000003"), resultado.stream().map(ClienteDTO::getCpf).toList());
+	}
+
+	@Test
+	void buscarClientes_DeveTratarSublinhadoComoTexto_QuandoBuscaPorEmail() {
+		cadastrar("Sublinhado", "55502000001", "busca_x@teste.com");
+		cadastrar("Sublinhado", "55502000002", "buscayx@teste.com");
+
+		List<ClienteDTO> resultado = clienteService.buscarClientes(null, null, "busca_", 10);
+
+		assertEquals(List.of("55502000001"), resultado.stream().map(ClienteDTO::getCpf).toList());
+	}
+
+	@Test
+	void listarClientesPorCursor_DeveContinuarAposOEmpate_QuandoNomesIguais() {
+		Long primeiro = cadastrar("Cursor Empate", "55503000001", "cursor.a@teste.com");
+		Long segundo = cadastrar("Cursor Empate", "55503000002", "cursor.b@teste.com");
+		Long terceiro = cadastrar("Cursor Empatf", "55503000003", "cursor.c@teste.com");
+
+		String cursor = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((primeiro + ":Cursor Empate").getBytes(StandardCharsets.UTF_8));
+		List<ClienteDTO> pagina = clienteService.listarClientesPorCursor(cursor, 2).getConteudo();
+
+		assertEquals(List.of(segundo, terceiro), pagina.stream().map(ClienteDTO::getId).toList());
+	}
+
+	private Long cadastrar(String nome, String cpf, String email) {
+		return clienteService.cadastrarCliente(new ClienteDTO(null, nome, cpf, email, null, null)).getId();
+	}
+}
@@ -0,0 +1,97 @@
+package com.desafio.api;
+
+import com.desafio.api.config.CacheConfig;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.service.ClienteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Alterações feitas direto no banco (sem passar pelo serviço) mostram se a leitura veio do cache.
+@SpringBootTest
+@ActiveProfiles("test")
+class ClienteCacheTests {
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void buscarClientePorId_DeveServirDoCache_QuandoJaConsultado() {
+		Long id = cadastrar("Cache Acerto", "34167211017");
+		ClienteDTO primeira = clienteService.buscarClientePorId(id);
+		renomearNoBanco(id, "Alterado Fora");
+
+		ClienteDTO segunda = clienteService.buscarClientePorId(id);
+
+		assertEquals("Cache Acerto", segunda.getNome());
+		assertNotSame(primeira, segunda);
+	}
+
+	@Test
+	void buscarClientePorId_NaoDeveAlterarCache_QuandoChamadorAlteraDTO() {
+		Long id = cadastrar("Cache Copia", "68403885490");
+		clienteService.buscarClientePorId(id).setNome("Alterado Pelo Chamador");
+
+		assertEquals("Cache Copia", clienteService.buscarClientePorId(id).getNome());
+	}
+
+	@Test
+	void atualizarCliente_DeveGravarNoCache_AposCommit() {
+		Long id = cadastrar("Cache Antes", "21430443219");
+		clienteService.buscarClientePorId(id);
+
+		clienteService.atualizarCliente(id, new ClienteDTO(null, "Cache Depois", "21430443219", "21430443219@teste.com", null, null), null);
+		renomearNoBanco(id, "Alterado Fora");
+
+		assertEquals("Cache Depois", clienteService.buscarClientePorId(id).getNome());
+	}
+
+	@Test
+	void atualizarCliente_NaoDeveAlterarCache_QuandoTransacaoDesfeita() {
+		Long id = cadastrar("Cache Original", "44519568382");
+		clienteService.buscarClientePorId(id);
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			clienteService.atualizarCliente(id, new ClienteDTO(null, "Cache Desfeito", "44519568382", "44519568382@teste.com", null, null), null);
+			status.setRollbackOnly();
+		});
+
+		assertEquals("Cache Original", clienteService.buscarClientePorId(id).getNome());
+	}
+
+	@Test
+	void deletarCliente_DeveRemoverDoCache() {
+		Long id = cadastrar("Cache Removido", "23741840483");
+		clienteService.buscarClientePorId(id);
+
+		clienteService.deletarCliente(id, null);
+
+		assertNull(cacheManager.getCache(CacheConfig.CACHE_CLIENTES).get(id));
+		assertThrows(ConsultaInvalidaException.class, () -> clienteService.buscarClientePorId(id));
+	}
+
+	private Long cadastrar(String nome, String cpf) {
+		return clienteService.cadastrarCliente(new ClienteDTO(null, nome, cpf, cpf + "@teste.com", null, null)).getId();
+	}
+
+	private void renomearNoBanco(Long id, String nome) {
+		jdbcTemplate.update("UPDATE TB_CLIENTE SET NOME_CLIENTE = ? WHERE ID_CLIENTE = ?", nome, id);
+	}
+}
@@ -0,0 +1,86 @@
+package com.desafio.api;
+
+import com.desafio.api.constants.TipoEvento;
+import com.desafio.api.dtos.EventoDTO;
+import com.desafio.api.dtos.FeedEventosDTO;
+import com.desafio.api.service.EventoAlteracaoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedEventosTests {
+
+	private static final long ENTIDADE_LENTA = 900_001L;
+	private static final long ENTIDADE_RAPIDA = 900_002L;
+
+	@Autowired
+	private EventoAlteracaoService eventoAlteracaoService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// A transação lenta grava primeiro (id menor) e confirma depois de o consumidor já ter lido o evento da rápida.
+	@Test
+	void buscarEventos_NaoDevePularEvento_QuandoTransacaoComIdMenorConfirmaDepois() throws Exception {
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		eventoAlteracaoService.publicarEventos();
+		long offset = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(POSICAO_EVENTO), 0) FROM TB_EVENTO_ALTERACAO", Long.class);
+
+		CountDownLatch gravado = new CountDownLatch(1);
+		CountDownLatch confirmar = new CountDownLatch(1);
+		CompletableFuture<Void> lenta = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+			eventoAlteracaoService.registrar(TipoEvento.CLIENTE_ATUALIZADO, ENTIDADE_LENTA, ENTIDADE_LENTA, Map.of());
+			gravado.countDown();
+			aguardar(confirmar);
+		}));
+
+		try {
+			assertTrue(gravado.await(5, TimeUnit.SECONDS));
+			transacao.executeWithoutResult(status ->
+					eventoAlteracaoService.registrar(TipoEvento.CLIENTE_ATUALIZADO, ENTIDADE_RAPIDA, ENTIDADE_RAPIDA, Map.of()));
+			eventoAlteracaoService.publicarEventos();
+
+			FeedEventosDTO primeiraLeitura = eventoAlteracaoService.buscarEventos(offset, 1000);
+			assertEquals(List.of(ENTIDADE_RAPIDA), entidades(primeiraLeitura));
+			offset = primeiraLeitura.getProximoOffset();
+		} finally {
+			confirmar.countDown();
+		}
+		lenta.get(5, TimeUnit.SECONDS);
+		eventoAlteracaoService.publicarEventos();
+
+		assertEquals(List.of(ENTIDADE_LENTA), entidades(eventoAlteracaoService.buscarEventos(offset, 1000)));
+	}
+
+	private List<Long> entidades(FeedEventosDTO feed) {
+		return feed.getEventos().stream()
+				.map(EventoDTO::getIdEntidade)
+				.filter(id -> id == ENTIDADE_LENTA || id == ENTIDADE_RAPIDA)
+				.toList();
+	}
+
+	private static void aguardar(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.desafio.api;
+
+import com.desafio.api.config.ContextoRoteamento;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.service.ClienteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Duas bases H2 independentes fazem o papel de primária e réplica; replicar() copia a primária inteira.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1",
+		"banco.replica.habilitada=true",
+		"banco.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+		"spring.jpa.open-in-view=false"
+})
+@ActiveProfiles("test")
+class RoteamentoDataSourceTests {
+
+	@TempDir
+	Path diretorio;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	@Qualifier("dataSourcePrimaria")
+	private DataSource primaria;
+
+	@Autowired
+	@Qualifier("dataSourceReplica")
+	private DataSource replica;
+
+	// Cada teste faz o papel de uma requisição que passou pelo RoteamentoFiltro.
+	@BeforeEach
+	void setUp() {
+		ContextoRoteamento.iniciarRequisicao(false);
+		replicar();
+	}
+
+	@AfterEach
+	void tearDown() {
+		ContextoRoteamento.limpar();
+	}
+
+	@Test
+	void leituras_DevemIrParaReplica_EEscritasParaPrimaria() {
+		clienteService.cadastrarCliente(new ClienteDTO(null, "Roteamento Replica", "11144477735", "replica@teste.com", null, null));
+		ContextoRoteamento.iniciarRequisicao(false);
+
+		assertTrue(clienteService.buscarClientes("roteamento replica", null, null, 10).isEmpty());
+
+		replicar();
+
+		assertEquals(1, clienteService.buscarClientes("roteamento replica", null, null, 10).size());
+	}
+
+	@Test
+	void leituras_DevemIrParaPrimaria_AposEscritaNaMesmaRequisicao() {
+		clienteService.cadastrarCliente(new ClienteDTO(null, "Roteamento Primaria", "52998224725", "primaria@teste.com", null, null));
+
+		assertEquals(1, clienteService.buscarClientes("roteamento primaria", null, null, 10).size());
+
+		ContextoRoteamento.iniciarRequisicao(false);
+
+		assertTrue(clienteService.buscarClientes("roteamento primaria", null, null, 10).isEmpty());
+	}
+
+	@Test
+	void escrita_NaoDeveFixarPrimaria_ForaDeRequisicao() {
+		ContextoRoteamento.limpar();
+
+		clienteService.cadastrarCliente(new ClienteDTO(null, "Roteamento Fundo", "39053344705", "fundo@teste.com", null, null));
+
+		assertFalse(ContextoRoteamento.isPrimariaFixada());
+		assertTrue(clienteService.buscarClientes("roteamento fundo", null, null, 10).isEmpty());
+	}
+
+	@Test
+	void buscarClientePorId_DeveLerDaPrimaria_QuandoReplicaAtrasada() {
+		Long id = clienteService.cadastrarCliente(new ClienteDTO(null, "Roteamento Removido", "16899535009", "removido@teste.com", null, null)).getId();
+		replicar();
+		clienteService.deletarCliente(id, null);
+		ContextoRoteamento.iniciarRequisicao(false);
+
+		assertEquals(1, clienteService.buscarClientes("roteamento removido", null, null, 10).size());
+		assertThrows(ConsultaInvalidaException.class, () -> clienteService.buscarClientePorId(id));
+	}
+
+	private void replicar() {
+		String arquivo = diretorio.resolve("primaria.sql").toString().replace('\\', '/');
+
+		new JdbcTemplate(primaria).execute("SCRIPT TO '" + arquivo + "'");
+		new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+		new JdbcTemplate(replica).execute("RUNSCRIPT FROM '" + arquivo + "'");
+	}
+}
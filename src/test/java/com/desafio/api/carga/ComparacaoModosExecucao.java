@@ -0,0 +1,146 @@
+package com.desafio.api.carga;
+
+import com.desafio.api.ApiApplication;
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.service.ClienteService;
+import com.desafio.api.service.ContaService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sobe a aplicação sobre H2 com threads de plataforma e depois com threads virtuais (perfil virtual)
+// e dispara a mesma carga contra GET /clientes/{idCliente}/contas, comparando vazão e latência.
+public class ComparacaoModosExecucao {
+
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 400);
+    private static final int REQUISICOES = Integer.getInteger("carga.requisicoes", 20_000);
+    private static final int CONTAS_POR_CLIENTE = Integer.getInteger("carga.contas-por-cliente", 20);
+    private static final long LATENCIA_BANCO_MS = Long.getLong("carga.latencia-banco-ms", 5);
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("A comparação exige Java 21: abaixo dele o perfil virtual não sobe.");
+        }
+
+        System.out.printf("Carga: %d usuários, %d requisições, %d contas por cliente, %d ms de latência por comando%n",
+                USUARIOS, REQUISICOES, CONTAS_POR_CLIENTE, LATENCIA_BANCO_MS);
+
+        Resultado plataforma = executar("plataforma");
+        Resultado virtual = executar("virtual");
+
+        System.out.println();
+        System.out.printf("%-12s %12s %10s %10s %10s %8s%n", "Modo", "Req/s", "p50 (ms)", "p99 (ms)", "Máx (ms)", "Erros");
+        plataforma.imprimir();
+        virtual.imprimir();
+    }
+
+    static Resultado executar(String modo) throws Exception {
+        String[] perfis = "virtual".equals(modo) ? new String[]{"test", "virtual"} : new String[]{"test"};
+
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles(perfis)
+                .initializers(aplicacao -> aplicacao.getBeanFactory().addBeanPostProcessor(new LatenciaBanco(LATENCIA_BANCO_MS)))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + modo,
+                        "--spring.jpa.show-sql=false",
+                        // Mesmo pool nos dois modos, para comparar só o modelo de threads.
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--logging.level.root=WARN")) {
+
+            Long idCliente = popular(contexto);
+            URI uri = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port")
+                    + "/clientes/" + idCliente + "/contas");
+
+            disparar(uri, REQUISICOES / 10);
+            return new Resultado(modo, disparar(uri, REQUISICOES));
+        }
+    }
+
+    private static Long popular(ConfigurableApplicationContext contexto) {
+        ClienteService clienteService = contexto.getBean(ClienteService.class);
+        ContaService contaService = contexto.getBean(ContaService.class);
+
+        Long idCliente = clienteService.cadastrarCliente(new ClienteDTO(null, "Cliente Carga", "00000000001", "carga@teste.com", null, null)).getId();
+
+        for (int i = 0; i < CONTAS_POR_CLIENTE; i++) {
+            contaService.cadastrarConta(idCliente, new ContaDTO(null, String.format("%02d-2024", i % 12 + 1),
+                    BigDecimal.valueOf(1000 + i, 2), SituacaoConta.PENDENTE, null, null, null));
+        }
+
+        return idCliente;
+    }
+
+    private static Medicao disparar(URI uri, int total) throws InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest requisicao = HttpRequest.newBuilder(uri).GET().build();
+
+        long[] latencias = new long[total];
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger erros = new AtomicInteger();
+        CountDownLatch fim = new CountDownLatch(USUARIOS);
+        ExecutorService usuarios = Executors.newFixedThreadPool(USUARIOS);
+
+        long inicio = System.nanoTime();
+
+        for (int u = 0; u < USUARIOS; u++) {
+            usuarios.execute(() -> {
+                try {
+                    int indice;
+                    while ((indice = proxima.getAndIncrement()) < total) {
+                        long envio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            erros.incrementAndGet();
+                        }
+                        latencias[indice] = System.nanoTime() - envio;
+                    }
+                } finally {
+                    fim.countDown();
+                }
+            });
+        }
+
+        fim.await();
+        long duracao = System.nanoTime() - inicio;
+        usuarios.shutdown();
+
+        Arrays.sort(latencias);
+        return new Medicao(total, duracao, latencias, erros.get());
+    }
+
+    record Medicao(int total, long duracaoNanos, long[] latenciasOrdenadas, int erros) {
+
+        double vazao() {
+            return total / (duracaoNanos / 1_000_000_000.0);
+        }
+
+        double percentilMs(double percentil) {
+            int indice = (int) Math.ceil(percentil * latenciasOrdenadas.length) - 1;
+            return latenciasOrdenadas[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+
+    record Resultado(String modo, Medicao medicao) {
+
+        void imprimir() {
+            System.out.printf("%-12s %12.1f %10.2f %10.2f %10.2f %8d%n", modo, medicao.vazao(), medicao.percentilMs(0.50),
+                    medicao.percentilMs(0.99), medicao.percentilMs(1.0), medicao.erros());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.desafio.api.carga;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Simula a latência de rede de um banco remoto: o H2 em memória responde rápido demais
+// para que as threads fiquem bloqueadas em JDBC como acontece em produção.
+class LatenciaBanco implements BeanPostProcessor {
+
+    private final long latenciaMs;
+
+    LatenciaBanco(long latenciaMs) {
+        this.latenciaMs = latenciaMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || latenciaMs <= 0) {
+            return bean;
+        }
+
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return envolver(Connection.class, super.getConnection());
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T envolver(Class<T> tipo, T alvo) {
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            if (alvo instanceof Statement && metodo.getName().startsWith("execute")) {
+                Thread.sleep(latenciaMs);
+            }
+
+            Object retorno = invocar(metodo, alvo, argumentos);
+
+            if (retorno instanceof Statement statement && alvo instanceof Connection) {
+                return envolver((Class<Statement>) metodo.getReturnType(), statement);
+            }
+            return retorno;
+        };
+
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private Object invocar(Method metodo, Object alvo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
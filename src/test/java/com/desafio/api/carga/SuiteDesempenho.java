@@ -0,0 +1,360 @@
+package com.desafio.api.carga;
+
+import com.desafio.api.ApiApplication;
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.service.ClienteService;
+import com.desafio.api.service.ContaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sobe a aplicação sobre H2, dispara uma mistura de chamadas de clientes e contas a partir de vários usuários
+// concorrentes, grava p50/p95/p99 e vazão por endpoint em JSON e encerra com erro se algum orçamento estourar.
+public class SuiteDesempenho {
+
+    private static final int USUARIOS = Integer.getInteger("desempenho.usuarios", 16);
+    private static final int DURACAO_S = Integer.getInteger("desempenho.duracao-s", 30);
+    private static final int AQUECIMENTO_S = Integer.getInteger("desempenho.aquecimento-s", 5);
+    private static final int CLIENTES = Integer.getInteger("desempenho.clientes", 200);
+    private static final int CONTAS_POR_CLIENTE = Integer.getInteger("desempenho.contas-por-cliente", 10);
+    private static final long LATENCIA_BANCO_MS = Long.getLong("desempenho.latencia-banco-ms", 0);
+    private static final String ORCAMENTO = System.getProperty("desempenho.orcamento", "src/test/resources/carga/orcamento-desempenho.properties");
+    private static final String RELATORIO = System.getProperty("desempenho.relatorio", "target/carga/relatorio-desempenho.json");
+
+    private static final String TOTAL = "total";
+
+    // Peso de cada operação na mistura; a soma não precisa ser 100.
+    private static final List<Operacao> OPERACOES = List.of(
+            new Operacao("listar-clientes", "GET", "/clientes", 10, Set.of(200)),
+            new Operacao("buscar-cliente", "GET", "/clientes/{id}", 20, Set.of(200)),
+            new Operacao("buscar-clientes-nome", "GET", "/clientes/busca", 5, Set.of(200)),
+            new Operacao("listar-contas-cliente", "GET", "/clientes/{idCliente}/contas", 25, Set.of(200)),
+            new Operacao("listar-contas-paginadas", "GET", "/clientes/{idCliente}/contas/paginadas", 10, Set.of(200)),
+            new Operacao("buscar-conta", "GET", "/contas/{id}", 15, Set.of(200)),
+            new Operacao("cadastrar-conta", "POST", "/clientes/{idCliente}/contas", 10, Set.of(201)),
+            new Operacao("atualizar-conta", "PUT", "/contas/{id}", 5, Set.of(200)));
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("Carga: %d usuários por %d s (%d s de aquecimento), %d clientes com %d contas, %d ms de latência por comando%n",
+                USUARIOS, DURACAO_S, AQUECIMENTO_S, CLIENTES, CONTAS_POR_CLIENTE, LATENCIA_BANCO_MS);
+
+        Map<String, Object> relatorio;
+
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .initializers(aplicacao -> aplicacao.getBeanFactory().addBeanPostProcessor(new LatenciaBanco(LATENCIA_BANCO_MS)))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:desempenho",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN")) {
+
+            Massa massa = popular(contexto);
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+
+            disparar(base, massa, AQUECIMENTO_S);
+            relatorio = montarRelatorio(disparar(base, massa, DURACAO_S), DURACAO_S);
+        }
+
+        imprimir(relatorio);
+        gravar(relatorio);
+
+        List<String> violacoes = verificarOrcamento(relatorio, carregarOrcamento());
+
+        if (!violacoes.isEmpty()) {
+            System.out.println();
+            System.out.println("Orçamento de desempenho excedido:");
+            violacoes.forEach(violacao -> System.out.println("  - " + violacao));
+            System.exit(1);
+        }
+
+        System.out.println("Orçamento de desempenho respeitado.");
+        System.exit(0);
+    }
+
+    private static Massa popular(ConfigurableApplicationContext contexto) {
+        ClienteService clienteService = contexto.getBean(ClienteService.class);
+        ContaService contaService = contexto.getBean(ContaService.class);
+
+        long[] clientes = new long[CLIENTES];
+        long[] contas = new long[CLIENTES * CONTAS_POR_CLIENTE];
+
+        for (int c = 0; c < CLIENTES; c++) {
+            clientes[c] = clienteService.cadastrarCliente(new ClienteDTO(null, "Cliente Desempenho " + c,
+                    String.format("%011d", c + 1), "desempenho" + c + "@teste.com", null, null)).getId();
+
+            for (int i = 0; i < CONTAS_POR_CLIENTE; i++) {
+                contas[c * CONTAS_POR_CLIENTE + i] = contaService.cadastrarConta(clientes[c], new ContaDTO(null,
+                        String.format("%02d-2024", i % 12 + 1), BigDecimal.valueOf(1000 + i, 2), SituacaoConta.PENDENTE, null, null, null)).getId();
+            }
+        }
+
+        return new Massa(clientes, contas);
+    }
+
+    private static Map<String, Amostras> disparar(String base, Massa massa, int segundos) throws InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<Map<String, Amostras>> porUsuario = new ArrayList<>(USUARIOS);
+        CountDownLatch fim = new CountDownLatch(USUARIOS);
+        ExecutorService usuarios = Executors.newFixedThreadPool(USUARIOS);
+        long prazo = System.nanoTime() + segundos * 1_000_000_000L;
+        int pesoTotal = OPERACOES.stream().mapToInt(Operacao::peso).sum();
+
+        for (int u = 0; u < USUARIOS; u++) {
+            Map<String, Amostras> amostras = new LinkedHashMap<>();
+            porUsuario.add(amostras);
+            int usuario = u;
+
+            usuarios.execute(() -> {
+                try {
+                    while (System.nanoTime() < prazo) {
+                        Operacao operacao = sortear(pesoTotal);
+                        HttpRequest requisicao = montarRequisicao(base, operacao, massa, usuario);
+                        Amostras amostra = amostras.computeIfAbsent(operacao.nome(), nome -> new Amostras());
+
+                        long envio = System.nanoTime();
+                        boolean erro;
+                        try {
+                            erro = !operacao.status().contains(cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } catch (IOException ex) {
+                            erro = true;
+                        }
+                        amostra.registrar(System.nanoTime() - envio, erro);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fim.countDown();
+                }
+            });
+        }
+
+        fim.await();
+        usuarios.shutdown();
+
+        Map<String, Amostras> consolidado = new LinkedHashMap<>();
+        OPERACOES.forEach(operacao -> consolidado.put(operacao.nome(), new Amostras()));
+        consolidado.put(TOTAL, new Amostras());
+
+        for (Map<String, Amostras> amostras : porUsuario) {
+            amostras.forEach((nome, amostra) -> {
+                consolidado.get(nome).juntar(amostra);
+                consolidado.get(TOTAL).juntar(amostra);
+            });
+        }
+        return consolidado;
+    }
+
+    private static Operacao sortear(int pesoTotal) {
+        int sorteio = ThreadLocalRandom.current().nextInt(pesoTotal);
+
+        for (Operacao operacao : OPERACOES) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        return OPERACOES.get(OPERACOES.size() - 1);
+    }
+
+    // Cada usuário só altera as contas cujo índice cai na sua fatia, para que PUTs concorrentes
+    // não disputem a mesma versão e o 412 não apareça como erro da carga.
+    private static HttpRequest montarRequisicao(String base, Operacao operacao, Massa massa, int usuario) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int indiceCliente = aleatorio.nextInt(massa.clientes().length);
+        long idCliente = massa.clientes()[indiceCliente];
+        long idConta = massa.contas()[aleatorio.nextInt(massa.contas().length)];
+        String corpoConta = "{\"referencia\":\"" + String.format("%02d-2025", aleatorio.nextInt(12) + 1)
+                + "\",\"valor\":" + aleatorio.nextInt(1, 100_000) / 100.0 + ",\"situacao\":\"PENDENTE\"}";
+
+        return switch (operacao.nome()) {
+            case "listar-clientes" -> get(base + "/clientes?page=" + aleatorio.nextInt(CLIENTES / 10 + 1) + "&size=10");
+            case "buscar-cliente" -> get(base + "/clientes/" + idCliente);
+            case "buscar-clientes-nome" -> get(base + "/clientes/busca?nome=cliente%20desempenho%20" + indiceCliente);
+            case "listar-contas-cliente" -> get(base + "/clientes/" + idCliente + "/contas");
+            case "listar-contas-paginadas" -> get(base + "/clientes/" + idCliente + "/contas/paginadas?size=5");
+            case "buscar-conta" -> get(base + "/contas/" + idConta);
+            case "cadastrar-conta" -> enviar(base + "/clientes/" + idCliente + "/contas", "POST", corpoConta);
+            case "atualizar-conta" -> {
+                int fatia = massa.contas().length / USUARIOS;
+                long propria = fatia == 0 ? massa.contas()[usuario % massa.contas().length]
+                        : massa.contas()[usuario * fatia + aleatorio.nextInt(fatia)];
+                yield enviar(base + "/contas/" + propria, "PUT", corpoConta);
+            }
+            default -> throw new IllegalArgumentException("Operação desconhecida: " + operacao.nome());
+        };
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static HttpRequest enviar(String uri, String metodo, String corpo) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private static Map<String, Object> montarRelatorio(Map<String, Amostras> amostras, int segundos) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        amostras.forEach((nome, amostra) -> {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            OPERACOES.stream().filter(operacao -> operacao.nome().equals(nome)).findFirst().ifPresent(operacao -> {
+                linha.put("metodo", operacao.metodo());
+                linha.put("rota", operacao.rota());
+            });
+            linha.putAll(amostra.resumir(segundos));
+            endpoints.put(nome, linha);
+        });
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("usuarios", USUARIOS);
+        relatorio.put("duracaoSegundos", segundos);
+        relatorio.put("latenciaBancoMs", LATENCIA_BANCO_MS);
+        relatorio.put("endpoints", endpoints);
+        return relatorio;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void imprimir(Map<String, Object> relatorio) {
+        System.out.println();
+        System.out.printf("%-24s %9s %9s %9s %9s %9s %9s %7s%n", "Endpoint", "Req", "Req/s", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Máx (ms)", "Erros");
+
+        ((Map<String, Map<String, Object>>) relatorio.get("endpoints")).forEach((nome, linha) ->
+                System.out.printf("%-24s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", nome, linha.get("requisicoes"), linha.get("vazao"),
+                        linha.get("p50Ms"), linha.get("p95Ms"), linha.get("p99Ms"), linha.get("maxMs"), linha.get("erros")));
+    }
+
+    private static void gravar(Map<String, Object> relatorio) throws IOException {
+        Path destino = Path.of(RELATORIO);
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(destino.toFile(), relatorio);
+        System.out.println();
+        System.out.println("Relatório gravado em " + destino.toAbsolutePath());
+    }
+
+    private static Properties carregarOrcamento() throws IOException {
+        Properties orcamento = new Properties();
+
+        try (InputStream entrada = Files.newInputStream(Path.of(ORCAMENTO))) {
+            orcamento.load(entrada);
+        }
+        return orcamento;
+    }
+
+    // Chaves no formato <endpoint>.<métrica>, por exemplo buscar-conta.p99-ms=50 ou total.vazao-minima=500.
+    @SuppressWarnings("unchecked")
+    static List<String> verificarOrcamento(Map<String, Object> relatorio, Properties orcamento) {
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) relatorio.get("endpoints");
+        List<String> violacoes = new ArrayList<>();
+
+        for (String chave : new TreeSet<>(orcamento.stringPropertyNames())) {
+            int separador = chave.lastIndexOf('.');
+            String endpoint = chave.substring(0, separador);
+            String metrica = chave.substring(separador + 1);
+            double limite = Double.parseDouble(orcamento.getProperty(chave).trim());
+            Map<String, Object> linha = endpoints.get(endpoint);
+
+            if (linha == null) {
+                violacoes.add(chave + ": endpoint sem medições");
+                continue;
+            }
+
+            double valor = switch (metrica) {
+                case "p50-ms" -> (double) linha.get("p50Ms");
+                case "p95-ms" -> (double) linha.get("p95Ms");
+                case "p99-ms" -> (double) linha.get("p99Ms");
+                case "vazao-minima" -> (double) linha.get("vazao");
+                case "taxa-erros-maxima" -> (double) linha.get("taxaErros");
+                default -> throw new IllegalArgumentException("Métrica de orçamento desconhecida: " + chave);
+            };
+
+            boolean excedeu = "vazao-minima".equals(metrica) ? valor < limite : valor > limite;
+
+            if (excedeu) {
+                violacoes.add(String.format("%s: medido %.3f, limite %.3f", chave, valor, limite));
+            }
+        }
+        return violacoes;
+    }
+
+    record Operacao(String nome, String metodo, String rota, int peso, Set<Integer> status) {
+    }
+
+    record Massa(long[] clientes, long[] contas) {
+    }
+
+    static class Amostras {
+
+        private long[] latencias = new long[1024];
+        private int quantidade;
+        private int erros;
+
+        void registrar(long latenciaNanos, boolean erro) {
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = latenciaNanos;
+            if (erro) {
+                erros++;
+            }
+        }
+
+        void juntar(Amostras outras) {
+            for (int i = 0; i < outras.quantidade; i++) {
+                registrar(outras.latencias[i], false);
+            }
+            erros += outras.erros;
+        }
+
+        Map<String, Object> resumir(int segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, quantidade);
+            Arrays.sort(ordenadas);
+
+            Map<String, Object> resumo = new LinkedHashMap<>();
+            resumo.put("requisicoes", quantidade);
+            resumo.put("erros", erros);
+            resumo.put("taxaErros", quantidade == 0 ? 0.0 : (double) erros / quantidade);
+            resumo.put("vazao", (double) quantidade / segundos);
+            resumo.put("p50Ms", percentilMs(ordenadas, 0.50));
+            resumo.put("p95Ms", percentilMs(ordenadas, 0.95));
+            resumo.put("p99Ms", percentilMs(ordenadas, 0.99));
+            resumo.put("maxMs", percentilMs(ordenadas, 1.0));
+            return resumo;
+        }
+
+        private static double percentilMs(long[] ordenadas, double percentil) {
+            if (ordenadas.length == 0) {
+                return 0.0;
+            }
+            int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+            return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.desafio.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissaoFiltroTest {
+
+    private AdmissaoFiltro filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new AdmissaoFiltro();
+        ReflectionTestUtils.setField(filtro, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filtro, "cabecalhoChamador", "X-Chamador");
+        ReflectionTestUtils.setField(filtro, "gatewaysConfiaveis", Set.of("10.0.0.1"));
+        ReflectionTestUtils.setField(filtro, "taxaPorSegundo", 1000.0);
+        ReflectionTestUtils.setField(filtro, "rajada", 1000);
+        ReflectionTestUtils.setField(filtro, "concorrenciaLeitura", 1);
+        ReflectionTestUtils.setField(filtro, "concorrenciaEscrita", 1);
+        ReflectionTestUtils.setField(filtro, "concorrenciaCadastroAgrupado", 2);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o cabeçalho do chamador quando a conexão não vem de um gateway confiável")
+    void chamador_DeveUsarEndereco_QuandoOrigemNaoConfiavel() {
+        MockHttpServletRequest requisicao = requisicao("POST", "/clientes", "192.168.0.7");
+        requisicao.addHeader("X-Chamador", "parceiro-falso");
+
+        assertEquals("ip:192.168.0.7", filtro.chamador(requisicao));
+    }
+
+    @Test
+    @DisplayName("Deve usar o cabeçalho do chamador quando a conexão vem de um gateway confiável")
+    void chamador_DeveUsarCabecalho_QuandoOrigemConfiavel() {
+        MockHttpServletRequest requisicao = requisicao("POST", "/clientes", "10.0.0.1");
+        requisicao.addHeader("X-Chamador", "parceiro-a");
+
+        assertEquals("parceiro:parceiro-a", filtro.chamador(requisicao));
+    }
+
+    @Test
+    @DisplayName("Deve usar o usuário autenticado antes do cabeçalho e do endereço")
+    void chamador_DeveUsarUsuario_QuandoAutenticado() {
+        MockHttpServletRequest requisicao = requisicao("POST", "/clientes", "10.0.0.1");
+        requisicao.addHeader("X-Chamador", "parceiro-a");
+        requisicao.setUserPrincipal(() -> "operador");
+
+        assertEquals("usuario:operador", filtro.chamador(requisicao));
+    }
+
+    @Test
+    @DisplayName("Deve admitir cadastros agrupados além do limite de escritas")
+    void doFilter_DeveUsarLimiteProprio_QuandoCadastroAgrupado() throws Exception {
+        ReflectionTestUtils.setField(filtro, "agrupamentoHabilitado", true);
+        filtro.iniciar();
+
+        assertEquals(200, ocupandoUmaVaga("/clientes/1/contas", "/clientes/1/contas"));
+        assertEquals(503, ocupandoUmaVaga("/clientes", "/clientes"));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o limite de escritas ao cadastro de contas quando o agrupamento está desligado")
+    void doFilter_DeveUsarLimiteEscrita_QuandoAgrupamentoDesligado() throws Exception {
+        filtro.iniciar();
+
+        assertEquals(503, ocupandoUmaVaga("/clientes/1/contas", "/clientes/1/contas"));
+    }
+
+    // Mantém uma requisição em andamento no primeiro caminho e devolve o status de uma segunda no outro.
+    private int ocupandoUmaVaga(String caminhoOcupado, String caminho) throws Exception {
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        HttpServlet bloqueante = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest requisicao, HttpServletResponse resposta) {
+                dentro.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        CompletableFuture<Void> ocupada = CompletableFuture.runAsync(() -> {
+            try {
+                filtro.doFilter(requisicao("POST", caminhoOcupado, "192.168.0.7"), new MockHttpServletResponse(),
+                        new MockFilterChain(bloqueante));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        try {
+            assertTrue(dentro.await(5, TimeUnit.SECONDS));
+            MockHttpServletResponse resposta = new MockHttpServletResponse();
+            filtro.doFilter(requisicao("POST", caminho, "192.168.0.8"), resposta, new MockFilterChain());
+            return resposta.getStatus();
+        } finally {
+            liberar.countDown();
+            ocupada.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private MockHttpServletRequest requisicao(String metodo, String caminho, String endereco) {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest(metodo, caminho);
+        requisicao.setRemoteAddr(endereco);
+        return requisicao;
+    }
+}
@@ -0,0 +1,28 @@
+package com.desafio.api.config;
+
+import com.desafio.api.service.CobrancaService;
+import com.desafio.api.service.ContaService;
+import com.desafio.api.service.EventoAlteracaoService;
+import com.desafio.api.service.IndiceUnicidadeCliente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgendamentoConfigTest {
+
+    @Test
+    @DisplayName("Deve manter fora da inicialização tardia os beans com @Scheduled ou @EventListener")
+    void possuiMetodoAgendadoOuOuvinte_DeveRetornarTrue_QuandoBeanAgendadoOuOuvinte() {
+        assertTrue(AgendamentoConfig.possuiMetodoAgendadoOuOuvinte(IndiceUnicidadeCliente.class));
+        assertTrue(AgendamentoConfig.possuiMetodoAgendadoOuOuvinte(EventoAlteracaoService.class));
+        assertTrue(AgendamentoConfig.possuiMetodoAgendadoOuOuvinte(CobrancaService.class));
+    }
+
+    @Test
+    @DisplayName("Deve permitir a inicialização tardia dos demais beans")
+    void possuiMetodoAgendadoOuOuvinte_DeveRetornarFalse_QuandoBeanComum() {
+        assertFalse(AgendamentoConfig.possuiMetodoAgendadoOuOuvinte(ContaService.class));
+        assertFalse(AgendamentoConfig.possuiMetodoAgendadoOuOuvinte(null));
+    }
+}
@@ -0,0 +1,157 @@
+package com.desafio.api.service;
+
+import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.exception.CampoIncorretoException;
+import com.desafio.api.model.Cliente;
+import com.desafio.api.model.Conta;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CadastroContaAgrupadoTest {
+
+    @Mock
+    private ContaService contaService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CadastroContaAgrupado cadastroContaAgrupado;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        cadastroContaAgrupado.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve gravar cadastros concorrentes em uma única transação")
+    @SuppressWarnings("unchecked")
+    void cadastrar_DeveAgruparPedidos_QuandoConcorrentes() throws Exception {
+        iniciar(3, 5000);
+        when(contaService.prepararConta(anyLong(), any())).thenAnswer(invocacao -> conta(invocacao.getArgument(1)));
+        when(contaService.cadastrarContas(anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        List<CompletableFuture<ContaDTO>> resultados = IntStream.range(0, 3)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> cadastroContaAgrupado.cadastrar(1L, dados(i))))
+                .toList();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigDecimal.valueOf(i), resultados.get(i).get(5, TimeUnit.SECONDS).getValor());
+        }
+        verify(contaService, times(1)).cadastrarContas(argThat(contas -> contas.size() == 3));
+        verify(contaService, never()).cadastrarConta(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve regravar individualmente e devolver o erro apenas ao pedido inválido quando o lote falhar")
+    void cadastrar_DeveIsolarErro_QuandoLoteFalhar() throws Exception {
+        iniciar(2, 5000);
+        ContaDTO valido = dados(1);
+        ContaDTO invalido = dados(2);
+        when(contaService.prepararConta(anyLong(), any())).thenAnswer(invocacao -> conta(invocacao.getArgument(1)));
+        when(contaService.cadastrarContas(anyList())).thenThrow(new IllegalStateException("falha no lote"));
+        when(contaService.cadastrarConta(1L, valido)).thenReturn(valido);
+        when(contaService.cadastrarConta(1L, invalido)).thenThrow(new CampoIncorretoException("inválida"));
+
+        CompletableFuture<ContaDTO> primeiro = CompletableFuture.supplyAsync(() -> cadastroContaAgrupado.cadastrar(1L, valido));
+        CompletableFuture<ContaDTO> segundo = CompletableFuture.supplyAsync(() -> cadastroContaAgrupado.cadastrar(1L, invalido));
+
+        assertSame(valido, primeiro.get(5, TimeUnit.SECONDS));
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> segundo.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CampoIncorretoException.class, erro.getCause());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o erro de validação apenas ao pedido inválido e gravar os demais")
+    @SuppressWarnings("unchecked")
+    void cadastrar_DeveRejeitarPedidoInvalido_SemAfetarOLote() throws Exception {
+        iniciar(2, 5000);
+        ContaDTO invalido = dados(-1);
+        when(contaService.prepararConta(anyLong(), any())).thenAnswer(invocacao -> {
+            if (invocacao.getArgument(1) == invalido) {
+                throw new CampoIncorretoException("Não foi possível criar uma conta com o valor menor que 0.");
+            }
+            return conta(invocacao.getArgument(1));
+        });
+        when(contaService.cadastrarContas(anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        CompletableFuture<ContaDTO> valido = CompletableFuture.supplyAsync(() -> cadastroContaAgrupado.cadastrar(1L, dados(1)));
+        CompletableFuture<ContaDTO> rejeitado = CompletableFuture.supplyAsync(() -> cadastroContaAgrupado.cadastrar(1L, invalido));
+
+        assertEquals(BigDecimal.ONE, valido.get(5, TimeUnit.SECONDS).getValor());
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> rejeitado.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CampoIncorretoException.class, erro.getCause());
+        verify(contaService).cadastrarContas(argThat(contas -> contas.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a falha ao pedido e passar a gravar direto quando o gravador morrer por um Error")
+    void cadastrar_DeveLiberarPedido_QuandoGravadorMorrerPorError() throws Exception {
+        iniciar(1, 5000);
+        ContaDTO depois = dados(2);
+        when(contaService.prepararConta(anyLong(), any())).thenAnswer(invocacao -> conta(invocacao.getArgument(1)));
+        when(contaService.cadastrarContas(anyList())).thenThrow(new OutOfMemoryError("simulado"));
+        when(contaService.cadastrarConta(1L, depois)).thenReturn(depois);
+
+        CompletableFuture<ContaDTO> perdido = CompletableFuture.supplyAsync(() -> cadastroContaAgrupado.cadastrar(1L, dados(1)));
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> perdido.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, erro.getCause());
+
+        ((Thread) ReflectionTestUtils.getField(cadastroContaAgrupado, "gravador")).join(5000);
+        assertSame(depois, cadastroContaAgrupado.cadastrar(1L, depois));
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar diretamente quando o agrupamento estiver desabilitado")
+    void cadastrar_DeveGravarDireto_QuandoDesabilitado() {
+        ContaDTO dados = dados(1);
+        when(contaService.cadastrarConta(1L, dados)).thenReturn(dados);
+
+        assertSame(dados, cadastroContaAgrupado.cadastrar(1L, dados));
+        verify(contaService, never()).prepararConta(anyLong(), any());
+    }
+
+    private void iniciar(int tamanhoLote, long atrasoMaximoMs) {
+        ReflectionTestUtils.setField(cadastroContaAgrupado, "habilitado", true);
+        ReflectionTestUtils.setField(cadastroContaAgrupado, "tamanhoLote", tamanhoLote);
+        ReflectionTestUtils.setField(cadastroContaAgrupado, "atrasoMaximoMs", atrasoMaximoMs);
+        cadastroContaAgrupado.iniciar();
+    }
+
+    private ContaDTO dados(int valor) {
+        ContaDTO dto = new ContaDTO();
+        dto.setReferencia("01-2024");
+        dto.setValor(BigDecimal.valueOf(valor));
+        return dto;
+    }
+
+    private Conta conta(ContaDTO dados) {
+        Conta conta = new Conta();
+        conta.setReferencia(dados.getReferencia());
+        conta.setValor(dados.getValor());
+        conta.setCliente(new Cliente());
+        return conta;
+    }
+}
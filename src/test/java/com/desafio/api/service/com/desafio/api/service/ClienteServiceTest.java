@@ -1,27 +1,42 @@
 package com.desafio.api.service;
 
 import com.desafio.api.dtos.ClienteDTO;
+import com.desafio.api.dtos.PaginaCursorDTO;
+import com.desafio.api.dtos.ResultadoExclusaoClienteDTO;
 import com.desafio.api.exception.ConsultaInvalidaException;
 import com.desafio.api.exception.CpfJaCadastradoException;
+import com.desafio.api.exception.VersaoConflitanteException;
 import com.desafio.api.model.Cliente;
 import com.desafio.api.repository.ClienteRepository;
+import com.desafio.api.repository.ContaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +45,24 @@ class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private IndiceUnicidadeCliente indiceUnicidadeCliente;
+
+    @Mock
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    @Mock
+    private RevisaoClienteService revisaoClienteService;
+
+    @Mock
+    private EventoAlteracaoService eventoAlteracaoService;
+
+    @Mock
+    private ContaRepository contaRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ClienteService clienteService;
 
@@ -55,8 +88,8 @@ class ClienteServiceTest {
     @Test
     @DisplayName("Deve retornar ClienteDTO ao cadastrar com dados válidos")
     void testCadastrarCliente_DeveRetornarClienteDTO_QuandoDadosValidos() {
-        when(clienteRepository.existsByCpf(any())).thenReturn(false);
-        when(clienteRepository.existsByEmail(any())).thenReturn(false);
+        when(indiceUnicidadeCliente.podeExistir(any(), any())).thenReturn(true);
+        when(clienteRepository.buscarCpfsConflitantes(any(), any())).thenReturn(Collections.emptyList());
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
 
         ClienteDTO resultado = clienteService.cadastrarCliente(clienteDTO);
@@ -66,12 +99,24 @@ class ClienteServiceTest {
         assertEquals(clienteDTO.getEmail(), resultado.getEmail());
         assertEquals(clienteDTO.getCpf(), resultado.getCpf());
         verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(indiceUnicidadeCliente).registrar(cliente.getCpf(), cliente.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar sem consultar o banco quando o índice garante que CPF e email não existem")
+    void testCadastrarCliente_NaoDeveConsultarBanco_QuandoIndiceGaranteAusencia() {
+        when(indiceUnicidadeCliente.podeExistir(any(), any())).thenReturn(false);
+        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+
+        assertNotNull(clienteService.cadastrarCliente(clienteDTO));
+        verify(clienteRepository, never()).buscarCpfsConflitantes(any(), any());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao cadastrar com CPF já existente")
     void testCadastrarCliente_DeveLancarExcecao_QuandoCpfJaCadastrado() {
-        when(clienteRepository.existsByCpf(any())).thenReturn(true);
+        when(indiceUnicidadeCliente.podeExistir(any(), any())).thenReturn(true);
+        when(clienteRepository.buscarCpfsConflitantes(any(), any())).thenReturn(List.of(clienteDTO.getCpf()));
 
         assertThrows(CpfJaCadastradoException.class, () -> clienteService.cadastrarCliente(clienteDTO));
         verify(clienteRepository, never()).save(any(Cliente.class));
@@ -80,13 +125,23 @@ class ClienteServiceTest {
     @Test
     @DisplayName("Deve lançar exceção ao cadastrar com email já existente")
     void testCadastrarCliente_DeveLancarExcecao_QuandoEmailJaCadastrado() {
-        when(clienteRepository.existsByCpf(any())).thenReturn(false);
-        when(clienteRepository.existsByEmail(any())).thenReturn(true);
+        when(indiceUnicidadeCliente.podeExistir(any(), any())).thenReturn(true);
+        when(clienteRepository.buscarCpfsConflitantes(any(), any())).thenReturn(List.of("98765432100"));
 
         assertThrows(CpfJaCadastradoException.class, () -> clienteService.cadastrarCliente(clienteDTO));
         verify(clienteRepository, never()).save(any(Cliente.class));
     }
 
+    @Test
+    @DisplayName("Deve lançar exceção quando um cadastro concorrente ocupar o CPF ou email antes da gravação")
+    void testCadastrarCliente_DeveLancarExcecao_QuandoIndiceUnicoViolado() {
+        when(indiceUnicidadeCliente.podeExistir(any(), any())).thenReturn(false);
+        when(clienteRepository.save(any(Cliente.class))).thenThrow(new DataIntegrityViolationException("UK_CLIENTE_EMAIL_BUSCA"));
+
+        assertThrows(CpfJaCadastradoException.class, () -> clienteService.cadastrarCliente(clienteDTO));
+        verify(indiceUnicidadeCliente, never()).registrar(any(), any());
+    }
+
     @Test
     @DisplayName("Deve retornar ClienteDTO ao buscar por ID existente")
     void testBuscarClientePorId_DeveRetornarClienteDTO_QuandoIdExistente() {
@@ -116,44 +171,157 @@ class ClienteServiceTest {
         dadosAtualizados.setEmail("joao.atualizado@example.com");
         dadosAtualizados.setCpf("12345678900");
 
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+        Cliente gravado = new Cliente();
+        gravado.setId(1L);
+        gravado.setVersao(1L);
+        gravado.setNome(dadosAtualizados.getNome());
+        gravado.setEmail(dadosAtualizados.getEmail());
+        gravado.setCpf(dadosAtualizados.getCpf());
 
-        ClienteDTO resultado = clienteService.atualizarCliente(1L, dadosAtualizados);
+        when(clienteRepository.atualizarSeVersao(1L, null, "João Silva Atualizado", "joao silva atualizado",
+                "joao.atualizado@example.com", "joao.atualizado@example.com", "12345678900")).thenReturn(1);
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(gravado));
+
+        ClienteDTO resultado = clienteService.atualizarCliente(1L, dadosAtualizados, null);
 
-        assertNotNull(resultado);
         assertEquals(dadosAtualizados.getNome(), resultado.getNome());
         assertEquals(dadosAtualizados.getEmail(), resultado.getEmail());
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        assertEquals(1L, resultado.getVersao());
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
+        verify(indiceUnicidadeCliente).registrar("12345678900", "joao.atualizado@example.com");
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar com ID inexistente")
     void testAtualizarCliente_DeveLancarExcecao_QuandoIdInexistente() {
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(clienteRepository.atualizarSeVersao(eq(1L), isNull(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(clienteRepository.buscarVersao(1L)).thenReturn(Optional.empty());
 
         assertThrows(ConsultaInvalidaException.class,
-                () -> clienteService.atualizarCliente(1L, clienteDTO));
+                () -> clienteService.atualizarCliente(1L, clienteDTO, null));
     }
 
     @Test
-    @DisplayName("Deve deletar cliente com ID existente")
-    void testDeletarCliente_DeveDeletarCliente_QuandoIdExistente() {
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-        doNothing().when(clienteRepository).deleteById(1L);
-
-        assertDoesNotThrow(() -> clienteService.deletarCliente(1L));
-        verify(clienteRepository, times(1)).deleteById(1L);
+    @DisplayName("Deve remover as contas em lotes e depois o cliente")
+    void testDeletarCliente_DeveRemoverContasEmLotes_QuandoIdExistente() {
+        ReflectionTestUtils.setField(clienteService, "tamanhoLoteExclusao", 2);
+        simularTransacao();
+        when(clienteRepository.buscarVersao(1L)).thenReturn(Optional.of(0L));
+        when(contaRepository.buscarIdsAposId(eq(0L), eq(1L), isNull(), anyCollection(), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L)).thenReturn(List.of(3L));
+        when(contaRepository.removerPorIds(anyCollection())).thenReturn(2, 1);
+        when(clienteRepository.incrementarVersao(1L, 0L)).thenReturn(1);
+        when(clienteRepository.removerPorId(1L)).thenReturn(1);
+
+        ResultadoExclusaoClienteDTO resultado = clienteService.deletarCliente(1L, null);
+
+        assertEquals(3, resultado.getContasRemovidas());
+        assertEquals(2, resultado.getLotes());
+        InOrder ordem = inOrder(clienteRepository, contaRepository);
+        ordem.verify(clienteRepository).incrementarVersao(1L, 0L);
+        ordem.verify(contaRepository).removerPorIds(List.of(1L, 2L));
+        verify(contaRepository).removerPorIds(List.of(3L));
+        verify(resumoFaturamentoService, times(2)).registrarExclusoes(any());
+        verify(resumoFaturamentoService).removerCliente(1L);
+        verify(clienteRepository, never()).delete(any(Cliente.class));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar com ID inexistente")
     void testDeletarCliente_DeveLancarExcecao_QuandoIdInexistente() {
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(clienteRepository.buscarVersao(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ConsultaInvalidaException.class,
-                () -> clienteService.deletarCliente(1L));
-        verify(clienteRepository, never()).deleteById(anyLong());
+                () -> clienteService.deletarCliente(1L, null));
+        verify(contaRepository, never()).removerPorIds(anyCollection());
+        verify(clienteRepository, never()).removerPorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Não deve remover nenhuma conta quando o cliente mudar entre a leitura da versão e o primeiro lote")
+    void testDeletarCliente_DeveLancarExcecao_QuandoVersaoMudaAntesDoPrimeiroLote() {
+        simularTransacao();
+        when(clienteRepository.buscarVersao(1L)).thenReturn(Optional.of(3L));
+        when(clienteRepository.incrementarVersao(1L, 3L)).thenReturn(0);
+
+        assertThrows(VersaoConflitanteException.class, () -> clienteService.deletarCliente(1L, 3L));
+        verifyNoInteractions(contaRepository);
+        verify(clienteRepository, never()).removerPorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve concluir sem registrar de novo quando outra exclusão já removeu o cliente")
+    void testDeletarCliente_DeveSerIdempotente_QuandoClienteJaRemovido() {
+        ReflectionTestUtils.setField(clienteService, "tamanhoLoteExclusao", 2);
+        simularTransacao();
+        when(clienteRepository.buscarVersao(1L)).thenReturn(Optional.of(0L));
+        when(clienteRepository.incrementarVersao(1L, 0L)).thenReturn(1);
+        when(contaRepository.buscarIdsAposId(eq(0L), eq(1L), isNull(), anyCollection(), any(Limit.class))).thenReturn(List.of());
+        when(clienteRepository.removerPorId(1L)).thenReturn(0);
+
+        ResultadoExclusaoClienteDTO resultado = clienteService.deletarCliente(1L, null);
+
+        assertEquals(0, resultado.getContasRemovidas());
+        verifyNoInteractions(resumoFaturamentoService, revisaoClienteService, eventoAlteracaoService);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao deletar cliente com versão diferente da atual")
+    void testDeletarCliente_DeveLancarExcecao_QuandoVersaoDivergente() {
+        when(clienteRepository.buscarVersao(1L)).thenReturn(Optional.of(3L));
+
+        assertThrows(VersaoConflitanteException.class,
+                () -> clienteService.deletarCliente(1L, 2L));
+        verifyNoInteractions(contaRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve buscar clientes pelo prefixo do nome sem acentos e sem diferenciar maiúsculas")
+    void testBuscarClientes_DeveUsarNomeNormalizado_QuandoBuscaPorNome() {
+        cliente.setNome("João Conceição");
+        when(clienteRepository.buscarPorPrefixos("joao conc", null, null, Sort.by("nomeBusca", "id"), 10))
+                .thenReturn(List.of(cliente));
+
+        List<ClienteDTO> resultado = clienteService.buscarClientes(" JOÃO  Conc", null, null, 10);
+
+        assertEquals(1, resultado.size());
+        assertEquals("João Conceição", resultado.get(0).getNome());
+    }
+
+    @Test
+    @DisplayName("Deve enviar todos os critérios ao banco, ordenando pelo CPF quando informado")
+    void testBuscarClientes_DeveEnviarTodosOsCriterios_QuandoHouverMaisDeUmCriterio() {
+        when(clienteRepository.buscarPorPrefixos("teste", "123456", "joao", Sort.by("cpf"), 10))
+                .thenReturn(List.of(cliente));
+
+        List<ClienteDTO> resultado = clienteService.buscarClientes("Teste", "123456", "JOAO", 10);
+
+        assertEquals(List.of(1L), resultado.stream().map(ClienteDTO::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar sem nenhum critério")
+    void testBuscarClientes_DeveLancarExcecao_QuandoSemCriterios() {
+        assertThrows(ConsultaInvalidaException.class,
+                () -> clienteService.buscarClientes(" ", null, "", 10));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    private void simularTransacao() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao atualizar cliente com versão diferente da atual")
+    void testAtualizarCliente_DeveLancarExcecao_QuandoVersaoDivergente() {
+        when(clienteRepository.atualizarSeVersao(eq(1L), eq(2L), any(), any(), any(), any(), any())).thenReturn(0);
+        when(clienteRepository.buscarVersao(1L)).thenReturn(Optional.of(3L));
+
+        assertThrows(VersaoConflitanteException.class,
+                () -> clienteService.atualizarCliente(1L, clienteDTO, 2L));
+        verify(clienteRepository, never()).findById(anyLong());
+        verifyNoInteractions(revisaoClienteService, eventoAlteracaoService);
     }
 
     @Test
@@ -184,4 +352,41 @@ class ClienteServiceTest {
         assertNotNull(resultado);
         assertEquals(0, resultado.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve retornar primeira página por cursor com próximo cursor quando houver mais clientes")
+    void testListarClientesPorCursor_DeveRetornarProximoCursor_QuandoHouverMaisClientes() {
+        Cliente segundo = new Cliente();
+        segundo.setId(2L);
+        segundo.setNome("Zeca");
+
+        when(clienteRepository.findAllByOrderByNomeAscIdAsc(Limit.of(2))).thenReturn(List.of(cliente, segundo));
+
+        PaginaCursorDTO<ClienteDTO> resultado = clienteService.listarClientesPorCursor(null, 1);
+
+        assertEquals(1, resultado.getConteudo().size());
+        assertEquals(cliente.getNome(), resultado.getConteudo().get(0).getNome());
+        assertNotNull(resultado.getProximoCursor());
+        verify(clienteRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve continuar a listagem a partir do nome e id contidos no cursor")
+    void testListarClientesPorCursor_DeveBuscarAposCursor_QuandoCursorInformado() {
+        when(clienteRepository.findAllByOrderByNomeAscIdAsc(Limit.of(2))).thenReturn(List.of(cliente, cliente));
+        String cursor = clienteService.listarClientesPorCursor(null, 1).getProximoCursor();
+
+        when(clienteRepository.buscarPaginaAposCursor("Teste", 1L, Limit.of(2))).thenReturn(Collections.emptyList());
+
+        PaginaCursorDTO<ClienteDTO> resultado = clienteService.listarClientesPorCursor(cursor, 1);
+
+        assertTrue(resultado.getConteudo().isEmpty());
+        assertNull(resultado.getProximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o cursor for inválido")
+    void testListarClientesPorCursor_DeveLancarExcecao_QuandoCursorInvalido() {
+        assertThrows(ConsultaInvalidaException.class, () -> clienteService.listarClientesPorCursor("%%%", 10));
+    }
+}
@@ -0,0 +1,235 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.constants.SituacaoExecucao;
+import com.desafio.api.constants.TipoEvento;
+import com.desafio.api.dtos.ContaSituacaoDTO;
+import com.desafio.api.exception.CampoIncorretoException;
+import com.desafio.api.exception.ExecucaoEmAndamentoException;
+import com.desafio.api.model.ExecucaoCobranca;
+import com.desafio.api.model.LoteCobranca;
+import com.desafio.api.model.ResumoCobranca;
+import com.desafio.api.repository.ContaRepository;
+import com.desafio.api.repository.ExecucaoCobrancaRepository;
+import com.desafio.api.repository.LoteCobrancaRepository;
+import com.desafio.api.repository.ResumoCobrancaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CobrancaServiceTest {
+
+    @Mock
+    private ContaRepository contaRepository;
+
+    @Mock
+    private ExecucaoCobrancaRepository execucaoCobrancaRepository;
+
+    @Mock
+    private LoteCobrancaRepository loteCobrancaRepository;
+
+    @Mock
+    private ResumoCobrancaRepository resumoCobrancaRepository;
+
+    @Mock
+    private RevisaoClienteService revisaoClienteService;
+
+    @Mock
+    private EventoAlteracaoService eventoAlteracaoService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CobrancaService cobrancaService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cobrancaService, "quantidadeTrabalhadores", 1);
+        cobrancaService.iniciarTrabalhadores();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        cobrancaService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar as contas do lote e somar o resumo por cliente com a competência mais antiga")
+    void processarLote_DeveResumirPorCliente_QuandoHouverContasVencidas() {
+        LoteCobranca lote = new LoteCobranca(5L, 9L, 100L, 200L, false);
+        when(loteCobrancaRepository.concluir(5L)).thenReturn(1);
+        when(contaRepository.bloquearVencidasEntre(100L, 200L, SituacaoConta.PENDENTE, 202406)).thenReturn(List.of(
+                conta(101L, 7L, 202403, "10.00"), conta(102L, 3L, 202402, "1.00"), conta(103L, 7L, 202401, "5.50")));
+        when(contaRepository.buscarIdsSemAtraso(List.of(101L, 102L, 103L))).thenReturn(List.of(101L, 103L));
+        when(contaRepository.sinalizarEmAtraso(List.of(101L, 103L))).thenReturn(2);
+        when(resumoCobrancaRepository.somar(anyLong(), anyLong(), anyLong(), anyLong(), anyInt())).thenReturn(1);
+
+        cobrancaService.processarLote(lote, 202406);
+
+        InOrder ordem = inOrder(resumoCobrancaRepository);
+        ordem.verify(resumoCobrancaRepository).somar(9L, 3L, 1L, 100L, 202402);
+        ordem.verify(resumoCobrancaRepository).somar(9L, 7L, 2L, 1550L, 202401);
+        verify(loteCobrancaRepository).concluir(5L);
+        verify(execucaoCobrancaRepository).somarProgresso(9L, 3, 2);
+        assertEquals(3.0, meterRegistry.counter("cobranca.linhas").count());
+    }
+
+    @Test
+    @DisplayName("Deve registrar revisão e evento apenas para as contas que passaram a estar em atraso")
+    void processarLote_DeveRegistrarRevisaoEEvento_QuandoContaSinalizada() {
+        LoteCobranca lote = new LoteCobranca(5L, 9L, 100L, 200L, false);
+        when(loteCobrancaRepository.concluir(5L)).thenReturn(1);
+        ContaSituacaoDTO jaSinalizada = conta(101L, 3L, 202403, "10.00");
+        ContaSituacaoDTO nova = conta(102L, 7L, 202402, "1.00");
+        when(contaRepository.bloquearVencidasEntre(100L, 200L, SituacaoConta.PENDENTE, 202406)).thenReturn(List.of(jaSinalizada, nova));
+        when(contaRepository.buscarIdsSemAtraso(List.of(101L, 102L))).thenReturn(List.of(102L));
+        when(contaRepository.sinalizarEmAtraso(List.of(102L))).thenReturn(1);
+        when(resumoCobrancaRepository.somar(anyLong(), anyLong(), anyLong(), anyLong(), anyInt())).thenReturn(1);
+
+        cobrancaService.processarLote(lote, 202406);
+
+        verify(revisaoClienteService).registrarAlteracaoContas(Set.of(7L));
+        verify(eventoAlteracaoService).novoEventoConta(TipoEvento.CONTA_SINALIZADA_EM_ATRASO, nova, SituacaoConta.PENDENTE);
+        verify(eventoAlteracaoService, never()).novoEventoConta(any(), eq(jaSinalizada), any(SituacaoConta.class));
+        verify(eventoAlteracaoService).registrarTodos(argThat(eventos -> eventos.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar revisão nem evento quando todas as contas já estavam em atraso")
+    void processarLote_NaoDeveRegistrarRevisao_QuandoContasJaSinalizadas() {
+        LoteCobranca lote = new LoteCobranca(5L, 9L, 100L, 200L, false);
+        when(loteCobrancaRepository.concluir(5L)).thenReturn(1);
+        when(contaRepository.bloquearVencidasEntre(100L, 200L, SituacaoConta.PENDENTE, 202406))
+                .thenReturn(List.of(conta(101L, 3L, 202403, "10.00")));
+        when(resumoCobrancaRepository.somar(anyLong(), anyLong(), anyLong(), anyLong(), anyInt())).thenReturn(1);
+
+        cobrancaService.processarLote(lote, 202406);
+
+        verify(contaRepository, never()).sinalizarEmAtraso(anyCollection());
+        verifyNoInteractions(revisaoClienteService, eventoAlteracaoService);
+        verify(execucaoCobrancaRepository).somarProgresso(9L, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Deve criar o resumo do cliente quando ainda não existir e somar sobre ele")
+    void processarLote_DeveCriarResumo_QuandoClienteSemResumo() {
+        LoteCobranca lote = new LoteCobranca(5L, 9L, 0L, 10L, false);
+        when(loteCobrancaRepository.concluir(5L)).thenReturn(1);
+        when(contaRepository.bloquearVencidasEntre(0L, 10L, SituacaoConta.PENDENTE, 202406))
+                .thenReturn(List.of(conta(1L, 3L, 202405, "2.00")));
+        when(resumoCobrancaRepository.somar(9L, 3L, 1L, 200L, 202405)).thenReturn(0, 1);
+
+        cobrancaService.processarLote(lote, 202406);
+
+        verify(resumoCobrancaRepository).saveAndFlush(new ResumoCobranca(null, 9L, 3L, 0L, 0L, 202405));
+        verify(resumoCobrancaRepository, times(2)).somar(9L, 3L, 1L, 200L, 202405);
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar e somar o lote uma única vez quando ele for processado duas vezes")
+    void processarLote_DeveIgnorarLote_QuandoJaConcluido() {
+        LoteCobranca lote = new LoteCobranca(5L, 9L, 100L, 200L, false);
+        when(loteCobrancaRepository.concluir(5L)).thenReturn(1, 0);
+        when(contaRepository.bloquearVencidasEntre(100L, 200L, SituacaoConta.PENDENTE, 202406))
+                .thenReturn(List.of(conta(101L, 3L, 202403, "10.00")));
+        when(contaRepository.buscarIdsSemAtraso(List.of(101L))).thenReturn(List.of(101L));
+        when(contaRepository.sinalizarEmAtraso(List.of(101L))).thenReturn(1);
+        when(resumoCobrancaRepository.somar(anyLong(), anyLong(), anyLong(), anyLong(), anyInt())).thenReturn(1);
+
+        cobrancaService.processarLote(lote, 202406);
+        cobrancaService.processarLote(lote, 202406);
+
+        verify(loteCobrancaRepository, times(2)).concluir(5L);
+        verify(contaRepository).bloquearVencidasEntre(100L, 200L, SituacaoConta.PENDENTE, 202406);
+        verify(contaRepository).sinalizarEmAtraso(List.of(101L));
+        verify(resumoCobrancaRepository).somar(9L, 3L, 1L, 1000L, 202403);
+        verify(execucaoCobrancaRepository).somarProgresso(9L, 1, 1);
+        assertEquals(1.0, meterRegistry.counter("cobranca.linhas").count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a execução quando outra instância a reservou com prazo válido")
+    void iniciar_DeveLancarExcecao_QuandoReservadaPorOutraInstancia() {
+        executarTransacoes();
+        when(execucaoCobrancaRepository.findFirstBySituacaoOrderByIdAsc(SituacaoExecucao.EM_ANDAMENTO))
+                .thenReturn(Optional.of(execucao(3L)));
+        when(execucaoCobrancaRepository.reservar(eq(3L), eq(SituacaoExecucao.EM_ANDAMENTO), anyString(), any(), any())).thenReturn(0);
+
+        assertThrows(ExecucaoEmAndamentoException.class, () -> cobrancaService.iniciar(null));
+        assertFalse(((AtomicBoolean) ReflectionTestUtils.getField(cobrancaService, "emExecucao")).get());
+        verify(execucaoCobrancaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve parar de agendar lotes sem concluir a execução quando outra instância assumir a reserva")
+    void executar_DevePararDeAgendar_QuandoReservaPerdida() {
+        ReflectionTestUtils.setField(cobrancaService, "tamanhoLote", 10);
+        executarTransacoes();
+        when(execucaoCobrancaRepository.findById(3L)).thenReturn(Optional.of(execucao(3L)));
+        when(contaRepository.buscarIdsVencidosAposId(0L, SituacaoConta.PENDENTE, 202406, Limit.of(10))).thenReturn(List.of(11L, 12L));
+        when(execucaoCobrancaRepository.registrarAgendamento(eq(3L), anyString(), eq(12L), any())).thenReturn(0);
+
+        cobrancaService.executar(3L);
+
+        verify(loteCobrancaRepository, never()).save(any());
+        verify(execucaoCobrancaRepository, never()).concluir(anyLong(), anyString(), any(), any());
+        verify(loteCobrancaRepository, never()).removerPorExecucao(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve recusar nova execução quando outra estiver em andamento ou a referência for inválida")
+    void iniciar_DeveLancarExcecao_QuandoEmAndamentoOuReferenciaInvalida() {
+        assertThrows(CampoIncorretoException.class, () -> cobrancaService.iniciar("13-2024"));
+
+        ((AtomicBoolean) ReflectionTestUtils.getField(cobrancaService, "emExecucao")).set(true);
+
+        assertThrows(ExecucaoEmAndamentoException.class, () -> cobrancaService.iniciar(null));
+        verifyNoInteractions(execucaoCobrancaRepository);
+    }
+
+    private void executarTransacoes() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private ExecucaoCobranca execucao(Long id) {
+        return new ExecucaoCobranca(id, 202406, SituacaoExecucao.EM_ANDAMENTO, 0L, 0L, 0L, Instant.now(), null, null, null);
+    }
+
+    private ContaSituacaoDTO conta(Long id, Long idCliente, Integer competencia, String valor) {
+        return new ContaSituacaoDTO(id, idCliente, competencia, SituacaoConta.PENDENTE, new BigDecimal(valor));
+    }
+}
@@ -2,9 +2,13 @@ package com.desafio.api.service;
 
 import com.desafio.api.dtos.ClienteDTO;
 import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.constants.TipoEvento;
 import com.desafio.api.dtos.ContaDTO;
+import com.desafio.api.dtos.ContaResumoDTO;
+import com.desafio.api.dtos.ContasClienteDTO;
 import com.desafio.api.exception.CampoIncorretoException;
 import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.exception.VersaoConflitanteException;
 import com.desafio.api.model.Cliente;
 import com.desafio.api.model.Conta;
 import com.desafio.api.repository.ContaRepository;
@@ -15,7 +19,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +32,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +44,15 @@ class ContaServiceTest {
     @Mock
     private ClienteService clienteService;
 
+    @Mock
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    @Mock
+    private RevisaoClienteService revisaoClienteService;
+
+    @Mock
+    private EventoAlteracaoService eventoAlteracaoService;
+
     @InjectMocks
     private ContaService contaService;
 
@@ -54,14 +74,14 @@ class ContaServiceTest {
         conta = new Conta();
         conta.setId(1L);
         conta.setReferencia("01-2023");
-        conta.setValor(100.0);
+        conta.setValor(BigDecimal.valueOf(100.0));
         conta.setSituacao(SituacaoConta.PAGA);
         conta.setCliente(cliente);
 
         contaDTO = new ContaDTO();
         contaDTO.setId(1L);
         contaDTO.setReferencia("01-2023");
-        contaDTO.setValor(100.0);
+        contaDTO.setValor(BigDecimal.valueOf(100.0));
         contaDTO.setSituacao(SituacaoConta.PAGA);
         contaDTO.setCliente(clienteDTO);
     }
@@ -77,12 +97,13 @@ class ContaServiceTest {
         assertNotNull(resultado);
         assertEquals(contaDTO.getReferencia(), resultado.getReferencia());
         verify(contaRepository, times(1)).save(any(Conta.class));
+        verify(resumoFaturamentoService).registrarInclusao(conta);
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao cadastrar conta com valor negativo")
     void cadastrarConta_DeveLancarExcecao_QuandoValorNegativo() {
-        contaDTO.setValor(-10.0);
+        contaDTO.setValor(BigDecimal.valueOf(-10.0));
 
         when(clienteService.buscarClientePorId(anyLong())).thenReturn(clienteDTO);
 
@@ -91,16 +112,33 @@ class ContaServiceTest {
     }
 
     @Test
-    @DisplayName("Deve atualizar conta com sucesso")
+    @DisplayName("Deve atualizar conta com um UPDATE condicionado à versão lida")
     void atualizarConta_DeveRetornarContaAtualizada_QuandoDadosValidos() {
+        conta.setVersao(3L);
+        contaDTO.setSituacao(SituacaoConta.PENDENTE);
         when(contaRepository.findById(anyLong())).thenReturn(Optional.of(conta));
-        when(contaRepository.save(any(Conta.class))).thenReturn(conta);
+        when(contaRepository.atualizarSeVersao(1L, 3L, "01-2023", 202301, contaDTO.getValor(), SituacaoConta.PENDENTE)).thenReturn(1);
 
-        ContaDTO resultado = contaService.atualizarConta(1L, contaDTO);
+        ContaDTO resultado = contaService.atualizarConta(1L, contaDTO, 3L);
 
-        assertNotNull(resultado);
         assertEquals(contaDTO.getReferencia(), resultado.getReferencia());
-        verify(contaRepository, times(1)).save(any(Conta.class));
+        assertEquals(SituacaoConta.PENDENTE, resultado.getSituacao());
+        assertEquals(4L, resultado.getVersao());
+        assertEquals(SituacaoConta.PAGA, conta.getSituacao());
+        verify(contaRepository, never()).saveAndFlush(any(Conta.class));
+        verify(resumoFaturamentoService).registrarAlteracao(eq(conta), argThat(atual -> atual.getSituacao() == SituacaoConta.PENDENTE));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a conta é alterada entre a leitura e a gravação")
+    void atualizarConta_DeveLancarExcecao_QuandoUpdateNaoEncontraVersao() {
+        conta.setVersao(3L);
+        when(contaRepository.findById(anyLong())).thenReturn(Optional.of(conta));
+        when(contaRepository.atualizarSeVersao(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(VersaoConflitanteException.class, () ->
+                contaService.atualizarConta(1L, contaDTO, null));
+        verifyNoInteractions(resumoFaturamentoService, eventoAlteracaoService);
     }
 
     @Test
@@ -109,18 +147,32 @@ class ContaServiceTest {
         when(contaRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ConsultaInvalidaException.class, () ->
-                contaService.atualizarConta(1L, contaDTO));
+                contaService.atualizarConta(1L, contaDTO, null));
     }
 
     @Test
     @DisplayName("Deve cancelar conta com sucesso")
     void deletarConta_DeveCancelarConta_QuandoIdExistente() {
+        conta.setVersao(0L);
         when(contaRepository.findById(anyLong())).thenReturn(Optional.of(conta));
-        when(contaRepository.save(any(Conta.class))).thenReturn(conta);
+        when(contaRepository.atualizarSeVersao(1L, 0L, "01-2023", 202301, conta.getValor(), SituacaoConta.CANCELADA)).thenReturn(1);
 
-        assertDoesNotThrow(() -> contaService.deletarConta(1L));
-        assertEquals(SituacaoConta.CANCELADA, conta.getSituacao());
-        verify(contaRepository, times(1)).save(any(Conta.class));
+        assertDoesNotThrow(() -> contaService.deletarConta(1L, null));
+        verify(resumoFaturamentoService).registrarAlteracao(eq(conta), argThat(atual -> atual.getSituacao() == SituacaoConta.CANCELADA));
+        verify(eventoAlteracaoService).registrarConta(eq(TipoEvento.CONTA_SITUACAO_ALTERADA),
+                argThat(atual -> atual.getSituacao() == SituacaoConta.CANCELADA && atual.getVersao() == 1L), eq(SituacaoConta.PAGA));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao cancelar conta com versão diferente da atual")
+    void deletarConta_DeveLancarExcecao_QuandoVersaoDivergente() {
+        conta.setVersao(5L);
+        when(contaRepository.findById(anyLong())).thenReturn(Optional.of(conta));
+
+        assertThrows(VersaoConflitanteException.class, () ->
+                contaService.deletarConta(1L, 4L));
+        verify(contaRepository, never()).atualizarSeVersao(anyLong(), anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(resumoFaturamentoService);
     }
 
     @Test
@@ -160,12 +212,12 @@ class ContaServiceTest {
     void validarConta_DeveLancarExcecoes_QuandoDadosInvalidos() {
         // Teste para valor negativo
         ContaDTO contaInvalida = new ContaDTO();
-        contaInvalida.setValor(-10.0);
+        contaInvalida.setValor(BigDecimal.valueOf(-10.0));
         assertThrows(CampoIncorretoException.class, () ->
                 contaService.validarConta(contaInvalida));
 
         // Teste para cliente nulo
-        contaInvalida.setValor(10.0);
+        contaInvalida.setValor(BigDecimal.valueOf(10.0));
         contaInvalida.setCliente(null);
         assertThrows(CampoIncorretoException.class, () ->
                 contaService.validarConta(contaInvalida));
@@ -175,5 +227,54 @@ class ContaServiceTest {
         contaInvalida.setSituacao(SituacaoConta.CANCELADA);
         assertThrows(CampoIncorretoException.class, () ->
                 contaService.validarConta(contaInvalida));
+
+        // Teste para referência fora do formato MM-AAAA
+        contaInvalida.setSituacao(SituacaoConta.PENDENTE);
+        contaInvalida.setReferencia("2023-01");
+        assertThrows(CampoIncorretoException.class, () ->
+                contaService.validarConta(contaInvalida));
+
+        // Teste para valor com mais de duas casas decimais
+        contaInvalida.setReferencia("01-2023");
+        contaInvalida.setValor(new BigDecimal("10.005"));
+        assertThrows(CampoIncorretoException.class, () ->
+                contaService.validarConta(contaInvalida));
+    }
+
+    @Test
+    @DisplayName("Deve listar contas paginadas com filtros convertidos para referência ordenável")
+    void listarContasPaginadas_DeveRetornarEnvelopeComCliente_QuandoFiltrosValidos() {
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<ContaResumoDTO> pagina = new PageImpl<>(List.of(new ContaResumoDTO(1L, "01-2023", BigDecimal.valueOf(100.0), SituacaoConta.PAGA)), pageable, 1);
+
+        when(clienteService.buscarClientePorId(1L)).thenReturn(clienteDTO);
+        when(contaRepository.buscarResumosPorCliente(1L, List.of(SituacaoConta.PAGA), 202212, 202301, pageable)).thenReturn(pagina);
+
+        ContasClienteDTO resultado = contaService.listarContasPaginadas(1L, SituacaoConta.PAGA, "12-2022", "01-2023", pageable);
+
+        assertSame(clienteDTO, resultado.getCliente());
+        assertEquals(1, resultado.getContas().getTotalElements());
+        verify(contaRepository, never()).findByClienteId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao filtrar contas com referência inválida")
+    void listarContasPaginadas_DeveLancarExcecao_QuandoReferenciaInvalida() {
+        when(clienteService.buscarClientePorId(1L)).thenReturn(clienteDTO);
+
+        assertThrows(ConsultaInvalidaException.class, () ->
+                contaService.listarContasPaginadas(1L, null, "2023-01", null, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Deve listar contas do cliente entre duas competências numéricas")
+    void listarContasPorPeriodo_DeveConsultarPorCompetencia_QuandoReferenciasValidas() {
+        when(clienteService.buscarClientePorId(1L)).thenReturn(clienteDTO);
+        when(contaRepository.findByClienteIdAndCompetenciaBetweenOrderByCompetenciaAscIdAsc(1L, 202212, 202301)).thenReturn(List.of(conta));
+
+        List<ContaDTO> resultado = contaService.listarContasPorPeriodo(1L, "12-2022", "01-2023");
+
+        assertEquals(1, resultado.size());
+        assertEquals(202301, conta.getCompetencia());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.TipoEvento;
+import com.desafio.api.dtos.FeedEventosDTO;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.model.EventoAlteracao;
+import com.desafio.api.model.PublicacaoEvento;
+import com.desafio.api.repository.EventoAlteracaoRepository;
+import com.desafio.api.repository.PublicacaoEventoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventoAlteracaoServiceTest {
+
+    @Mock
+    private EventoAlteracaoRepository eventoAlteracaoRepository;
+
+    @Mock
+    private PublicacaoEventoRepository publicacaoEventoRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private EventoAlteracaoService eventoAlteracaoService;
+
+    @Test
+    @DisplayName("Deve retornar os eventos após o offset e a posição do último como próximo offset")
+    void buscarEventos_DeveAvancarOffset_QuandoHouverEventos() {
+        Instant agora = Instant.now();
+        List<EventoAlteracao> eventos = List.of(
+                new EventoAlteracao(12L, TipoEvento.CONTA_CRIADA, 7L, 1L, "{}", agora, 11L),
+                new EventoAlteracao(9L, TipoEvento.CONTA_SITUACAO_ALTERADA, 7L, 1L, "{}", agora, 12L));
+        when(eventoAlteracaoRepository.buscarAposPosicao(10L, Limit.of(2))).thenReturn(eventos);
+
+        FeedEventosDTO feed = eventoAlteracaoService.buscarEventos(10L, 2);
+
+        assertEquals(2, feed.getEventos().size());
+        assertEquals(12L, feed.getProximoOffset());
+        assertEquals(9L, feed.getEventos().get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Deve manter o offset informado quando não houver eventos novos")
+    void buscarEventos_DeveManterOffset_QuandoNaoHouverEventos() {
+        when(eventoAlteracaoRepository.buscarAposPosicao(anyLong(), any(Limit.class))).thenReturn(Collections.emptyList());
+
+        assertEquals(42L, eventoAlteracaoService.buscarEventos(42L, 100).getProximoOffset());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o tamanho do lote for inválido")
+    void buscarEventos_DeveLancarExcecao_QuandoTamanhoInvalido() {
+        assertThrows(ConsultaInvalidaException.class, () -> eventoAlteracaoService.buscarEventos(0L, 0));
+        verifyNoInteractions(eventoAlteracaoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve dar aos eventos não publicados as posições seguintes à última publicada")
+    void publicarLote_DeveAtribuirPosicoes_QuandoHouverEventosNaoPublicados() {
+        PublicacaoEvento publicacao = new PublicacaoEvento(PublicacaoEvento.ID_PUBLICACAO, 40L);
+        when(publicacaoEventoRepository.bloquear(PublicacaoEvento.ID_PUBLICACAO)).thenReturn(Optional.of(publicacao));
+        when(eventoAlteracaoRepository.buscarIdsNaoPublicados(any(Limit.class))).thenReturn(List.of(7L, 45L));
+
+        assertEquals(2, eventoAlteracaoService.publicarLote());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> posicoes) -> posicoes.size() == 2
+                && Arrays.equals(posicoes.get(0), new Object[]{41L, 7L})
+                && Arrays.equals(posicoes.get(1), new Object[]{42L, 45L})));
+        assertEquals(42L, publicacao.getUltimaPosicao());
+        verify(publicacaoEventoRepository).save(publicacao);
+    }
+
+    @Test
+    @DisplayName("Deve criar a linha de publicação a partir da maior posição quando ela não existir")
+    void publicarLote_DeveCriarPublicacao_QuandoAusente() {
+        when(publicacaoEventoRepository.bloquear(PublicacaoEvento.ID_PUBLICACAO))
+                .thenReturn(Optional.empty(), Optional.of(new PublicacaoEvento(PublicacaoEvento.ID_PUBLICACAO, 0L)));
+        when(eventoAlteracaoRepository.buscarMaiorPosicao()).thenReturn(0L);
+        when(eventoAlteracaoRepository.buscarIdsNaoPublicados(any(Limit.class))).thenReturn(Collections.emptyList());
+
+        assertEquals(0, eventoAlteracaoService.publicarLote());
+
+        verify(publicacaoEventoRepository).criarSeAusente(PublicacaoEvento.ID_PUBLICACAO, 0L);
+        verifyNoInteractions(jdbcTemplate);
+        verify(publicacaoEventoRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,103 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.FormatoExportacao;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoContaServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ExportacaoContaService exportacaoContaService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exportacaoContaService, "tamanhoBusca", 1000);
+    }
+
+    private void simularContas() throws Exception {
+        when(resultSet.getLong(1)).thenReturn(1L, 2L);
+        when(resultSet.getString(2)).thenReturn("12345678900", "98765432100");
+        when(resultSet.getString(3)).thenReturn("01-2024", "02-2024");
+        when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal("150.75"), new BigDecimal("10.00"));
+        when(resultSet.getInt(5)).thenReturn(0, 1);
+
+        doAnswer(invocacao -> {
+            RowCallbackHandler linha = invocacao.getArgument(1);
+            linha.processRow(resultSet);
+            linha.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Deve exportar as contas em CSV com cabeçalho")
+    void exportar_DeveGerarCsv_QuandoFormatoCsv() throws Exception {
+        simularContas();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long linhas = exportacaoContaService.exportar(saida, FormatoExportacao.CSV, false);
+
+        assertEquals(2, linhas);
+        assertEquals("""
+                idConta,cpf,referencia,valor,situacao
+                1,12345678900,01-2024,150.75,PENDENTE
+                2,98765432100,02-2024,10.00,PAGA
+                """, saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve exportar as contas em NDJSON compactado com gzip")
+    void exportar_DeveGerarNdjsonCompactado_QuandoCompactar() throws Exception {
+        simularContas();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoContaService.exportar(saida, FormatoExportacao.NDJSON, true);
+
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(saida.toByteArray()))) {
+            assertEquals("""
+                    {"idConta":1,"cpf":"12345678900","referencia":"01-2024","valor":150.75,"situacao":"PENDENTE"}
+                    {"idConta":2,"cpf":"98765432100","referencia":"02-2024","valor":10.00,"situacao":"PAGA"}
+                    """, new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o formato de exportação for desconhecido")
+    void converterFormato_DeveLancarExcecao_QuandoFormatoInvalido() {
+        assertEquals(FormatoExportacao.NDJSON, exportacaoContaService.converterFormato("ndjson"));
+        assertThrows(ConsultaInvalidaException.class, () -> exportacaoContaService.converterFormato("xml"));
+    }
+}
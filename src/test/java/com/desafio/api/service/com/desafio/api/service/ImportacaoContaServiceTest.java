@@ -0,0 +1,133 @@
+package com.desafio.api.service;
+
+import com.desafio.api.dtos.ResultadoImportacaoDTO;
+import com.desafio.api.model.Cliente;
+import com.desafio.api.model.Conta;
+import com.desafio.api.repository.ClienteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoContaServiceTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ContaService contaService = new ContaService();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ImportacaoContaService importacaoContaService;
+
+    private Cliente cliente;
+
+    @BeforeEach
+    void setUp() {
+        cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("Cliente Teste");
+
+        ReflectionTestUtils.setField(importacaoContaService, "tamanhoLote", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocacao -> invocacao.getArgument(0)).when(contaService).cadastrarContas(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve importar linhas CSV válidas e reportar as inválidas")
+    void importarCsv_DeveReportarErrosPorLinha_QuandoHouverLinhasInvalidas() {
+        when(clienteRepository.findAllById(anyIterable())).thenReturn(List.of(cliente));
+
+        String csv = """
+                idCliente,referencia,valor,situacao
+                1,01-2024,100.50,PENDENTE
+                1,01-2024,-10,PENDENTE
+                2,02-2024,10,PAGA
+                1,13-2024,10,PAGA
+                1,02-2024
+                1;03-2024;99,90;PAGA
+                """;
+
+        ResultadoImportacaoDTO resultado = importacaoContaService.importarCsv(new StringReader(csv));
+
+        assertEquals(6, resultado.getLinhasLidas());
+        assertEquals(2, resultado.getContasImportadas());
+        assertEquals(4, resultado.getLinhasComErro());
+        assertEquals(List.of(3L, 4L, 5L, 6L), resultado.getErros().stream().map(erro -> erro.getLinha()).sorted().toList());
+        verify(clienteRepository, times(3)).findAllById(anyIterable());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    @DisplayName("Deve importar linhas NDJSON e gravar o lote pelo cadastro em lote do ContaService")
+    @SuppressWarnings("unchecked")
+    void importarNdjson_DeveGravarLote_QuandoLinhasValidas() {
+        when(clienteRepository.findAllById(anyIterable())).thenReturn(List.of(cliente));
+
+        String ndjson = """
+                {"idCliente":1,"referencia":"01-2024","valor":10.0,"situacao":"PENDENTE"}
+                {"idCliente":1,"referencia":"02-2024","valor":20.0,"situacao":"PAGA"}
+                """;
+
+        ResultadoImportacaoDTO resultado = importacaoContaService.importarNdjson(new StringReader(ndjson));
+
+        ArgumentCaptor<List<Conta>> contas = ArgumentCaptor.forClass(List.class);
+        verify(contaService).cadastrarContas(contas.capture());
+
+        assertEquals(2, resultado.getContasImportadas());
+        assertTrue(resultado.getErros().isEmpty());
+        assertEquals(2, contas.getValue().size());
+        assertSame(cliente, contas.getValue().get(0).getCliente());
+    }
+
+    @Test
+    @DisplayName("Deve reportar linha com JSON inválido sem interromper a importação")
+    void importarNdjson_DeveReportarErro_QuandoJsonInvalido() {
+        when(clienteRepository.findAllById(anyIterable())).thenReturn(List.of(cliente));
+
+        String ndjson = """
+                {"idCliente":1,"referencia":"01-2024","valor":10.0,"situacao":"PENDENTE"}
+                {"idCliente":1,
+                """;
+
+        ResultadoImportacaoDTO resultado = importacaoContaService.importarNdjson(new StringReader(ndjson));
+
+        assertEquals(1, resultado.getContasImportadas());
+        assertEquals(1, resultado.getLinhasComErro());
+        assertEquals(2L, resultado.getErros().get(0).getLinha());
+    }
+}
@@ -0,0 +1,85 @@
+package com.desafio.api.service;
+
+import com.desafio.api.repository.ClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceUnicidadeClienteTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @InjectMocks
+    private IndiceUnicidadeCliente indiceUnicidadeCliente;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(indiceUnicidadeCliente, "habilitado", true);
+        ReflectionTestUtils.setField(indiceUnicidadeCliente, "capacidade", 1000L);
+        ReflectionTestUtils.setField(indiceUnicidadeCliente, "taxaFalsoPositivo", 0.01);
+
+        when(clienteRepository.count()).thenReturn(0L);
+        when(clienteRepository.buscarChavesAposId(anyLong(), any())).thenReturn(List.of());
+
+        indiceUnicidadeCliente.recarregar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar o cliente no filtro apenas depois do commit da transação")
+    void registrar_DeveAguardarCommit_QuandoHouverTransacao() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        indiceUnicidadeCliente.registrar("12345678900", "cliente@teste.com");
+
+        assertFalse(indiceUnicidadeCliente.podeExistir("12345678900", null));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(indiceUnicidadeCliente.podeExistir("12345678900", null));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar o cliente quando a transação for desfeita")
+    void registrar_NaoDeveRegistrar_QuandoTransacaoDesfeita() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        indiceUnicidadeCliente.registrar("12345678900", "cliente@teste.com");
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertFalse(indiceUnicidadeCliente.podeExistir("12345678900", "cliente@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Deve comparar o email na forma normalizada")
+    void podeExistir_DeveIgnorarMaiusculasEAcentos_NoEmail() {
+        indiceUnicidadeCliente.registrar("12345678900", "José@Teste.com");
+
+        assertTrue(indiceUnicidadeCliente.podeExistir(null, "jose@teste.com"));
+    }
+}
@@ -0,0 +1,206 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.AgregadoContaDTO;
+import com.desafio.api.dtos.TotalCentavosDTO;
+import com.desafio.api.dtos.TotalFaturamentoDTO;
+import com.desafio.api.exception.ConsultaInvalidaException;
+import com.desafio.api.model.Cliente;
+import com.desafio.api.model.Conta;
+import com.desafio.api.model.ResumoFaturamento;
+import com.desafio.api.repository.ClienteRepository;
+import com.desafio.api.repository.ContaRepository;
+import com.desafio.api.repository.ResumoFaturamentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumoFaturamentoServiceTest {
+
+    @Mock
+    private ResumoFaturamentoRepository resumoFaturamentoRepository;
+
+    @Mock
+    private ContaRepository contaRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    private Conta conta;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente();
+        cliente.setId(7L);
+
+        conta = new Conta();
+        conta.setReferencia("03-2024");
+        conta.setValor(new BigDecimal("50.00"));
+        conta.setSituacao(SituacaoConta.PENDENTE);
+        conta.setCliente(cliente);
+    }
+
+    @Test
+    @DisplayName("Deve somar a conta no resumo do cliente e depois na faixa do total geral, com o cliente bloqueado para leitura")
+    void registrarInclusao_DeveSomarNoClienteENaFaixa_QuandoResumoExiste() {
+        when(resumoFaturamentoRepository.somar(anyLong(), anyInt(), any(), anyLong(), anyLong())).thenReturn(1);
+
+        resumoFaturamentoService.registrarInclusao(conta);
+
+        verify(clienteRepository).bloquearCompartilhado(Set.of(7L));
+        InOrder ordem = inOrder(resumoFaturamentoRepository);
+        ordem.verify(resumoFaturamentoRepository).somar(7L, 202403, SituacaoConta.PENDENTE, 1L, 5000L);
+        ordem.verify(resumoFaturamentoRepository).somar(-8L, 202403, SituacaoConta.PENDENTE, 1L, 5000L);
+        verify(resumoFaturamentoRepository, times(2)).somar(anyLong(), anyInt(), any(), anyLong(), anyLong());
+        verify(resumoFaturamentoRepository, never()).criarSeAusente(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Deve acumular contas de clientes da mesma faixa em uma única atualização do total geral")
+    void registrarInclusoes_DeveSomarUmaVezPorFaixa_QuandoClientesNaMesmaFaixa() {
+        when(resumoFaturamentoRepository.somar(anyLong(), anyInt(), any(), anyLong(), anyLong())).thenReturn(1);
+
+        Cliente outro = new Cliente();
+        outro.setId(23L);
+        Conta outraConta = new Conta();
+        outraConta.setReferencia(conta.getReferencia());
+        outraConta.setValor(new BigDecimal("10.00"));
+        outraConta.setSituacao(SituacaoConta.PENDENTE);
+        outraConta.setCliente(outro);
+
+        resumoFaturamentoService.registrarInclusoes(List.of(conta, outraConta));
+
+        verify(resumoFaturamentoRepository).somar(7L, 202403, SituacaoConta.PENDENTE, 1L, 5000L);
+        verify(resumoFaturamentoRepository).somar(23L, 202403, SituacaoConta.PENDENTE, 1L, 1000L);
+        verify(resumoFaturamentoRepository).somar(-8L, 202403, SituacaoConta.PENDENTE, 2L, 6000L);
+        verify(resumoFaturamentoRepository, times(3)).somar(anyLong(), anyInt(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve criar a linha de resumo na própria transação quando ela ainda não existe")
+    void registrarInclusao_DeveCriarResumo_QuandoLinhaAusente() {
+        when(resumoFaturamentoRepository.somar(7L, 202403, SituacaoConta.PENDENTE, 1L, 5000L)).thenReturn(0, 1);
+
+        resumoFaturamentoService.registrarInclusao(conta);
+
+        InOrder ordem = inOrder(resumoFaturamentoRepository);
+        ordem.verify(resumoFaturamentoRepository).somar(7L, 202403, SituacaoConta.PENDENTE, 1L, 5000L);
+        ordem.verify(resumoFaturamentoRepository).criarSeAusente(7L, 202403, SituacaoConta.PENDENTE);
+        ordem.verify(resumoFaturamentoRepository).somar(7L, 202403, SituacaoConta.PENDENTE, 1L, 5000L);
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Deve mover a conta entre situações sem alterar a quantidade total")
+    void registrarAlteracao_DeveSubtrairAnteriorESomarAtual_QuandoSituacaoMuda() {
+        when(resumoFaturamentoRepository.somar(anyLong(), anyInt(), any(), anyLong(), anyLong())).thenReturn(1);
+
+        Conta atual = new Conta();
+        atual.setReferencia(conta.getReferencia());
+        atual.setValor(conta.getValor());
+        atual.setSituacao(SituacaoConta.CANCELADA);
+        atual.setCliente(conta.getCliente());
+
+        resumoFaturamentoService.registrarAlteracao(conta, atual);
+
+        verify(resumoFaturamentoRepository).somar(7L, 202403, SituacaoConta.PENDENTE, -1L, -5000L);
+        verify(resumoFaturamentoRepository).somar(7L, 202403, SituacaoConta.CANCELADA, 1L, 5000L);
+        verify(resumoFaturamentoRepository).somar(-8L, 202403, SituacaoConta.PENDENTE, -1L, -5000L);
+        verify(resumoFaturamentoRepository).somar(-8L, 202403, SituacaoConta.CANCELADA, 1L, 5000L);
+        verify(resumoFaturamentoRepository, times(4)).somar(anyLong(), anyInt(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nada quando a alteração não muda referência, situação nem valor")
+    void registrarAlteracao_NaoDeveGravar_QuandoNadaMuda() {
+        resumoFaturamentoService.registrarAlteracao(conta, conta);
+
+        verifyNoInteractions(resumoFaturamentoRepository, clienteRepository);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir os resumos cliente a cliente, com cada cliente bloqueado, e ajustar a faixa pela diferença")
+    @SuppressWarnings("unchecked")
+    void reconstruir_DeveGravarResumosPorCliente() {
+        when(clienteRepository.buscarIdsAposId(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(clienteRepository.bloquearExclusivo(1L)).thenReturn(Optional.of(1L));
+        when(clienteRepository.bloquearExclusivo(2L)).thenReturn(Optional.empty());
+        when(resumoFaturamentoRepository.findByIdCliente(1L)).thenReturn(List.of(
+                new ResumoFaturamento(10L, 1L, 202401, SituacaoConta.PAGA, 1L, 1000L)));
+        when(resumoFaturamentoRepository.somar(anyLong(), anyInt(), any(), anyLong(), anyLong())).thenReturn(1);
+        when(contaRepository.agregarPorCompetenciaSituacao(1L)).thenReturn(List.of(
+                new AgregadoContaDTO(1L, 202401, SituacaoConta.PAGA, 2L, new BigDecimal("30.10")),
+                new AgregadoContaDTO(1L, 202402, SituacaoConta.PENDENTE, 1L, new BigDecimal("10.20"))));
+
+        long linhas = resumoFaturamentoService.reconstruir();
+
+        assertEquals(2, linhas);
+        verify(resumoFaturamentoRepository).buscarSemCliente();
+        InOrder ordem = inOrder(clienteRepository, resumoFaturamentoRepository, contaRepository);
+        ordem.verify(clienteRepository).bloquearExclusivo(1L);
+        ordem.verify(resumoFaturamentoRepository).removerPorCliente(1L);
+        ordem.verify(contaRepository).agregarPorCompetenciaSituacao(1L);
+        ordem.verify(resumoFaturamentoRepository).saveAll(argThat((List<ResumoFaturamento> resumos) -> resumos.stream()
+                .anyMatch(resumo -> resumo.getIdCliente() == 1L && resumo.getQuantidade() == 2L && resumo.getTotalCentavos() == 3010L)));
+        ordem.verify(resumoFaturamentoRepository).somar(-2L, 202401, SituacaoConta.PAGA, 1L, 2010L);
+        verify(resumoFaturamentoRepository).somar(-2L, 202402, SituacaoConta.PENDENTE, 1L, 1020L);
+        verify(contaRepository, never()).agregarPorCompetenciaSituacao(2L);
+    }
+
+    @Test
+    @DisplayName("Deve tirar do total geral o que restar nas linhas do cliente removido")
+    void removerCliente_DeveSubtrairDaFaixa_QuandoRestaremLinhas() {
+        when(resumoFaturamentoRepository.findByIdCliente(7L)).thenReturn(List.of(
+                new ResumoFaturamento(10L, 7L, 202403, SituacaoConta.PAGA, 2L, 700L),
+                new ResumoFaturamento(11L, 7L, 202404, SituacaoConta.PAGA, 0L, 0L)));
+        when(resumoFaturamentoRepository.somar(anyLong(), anyInt(), any(), anyLong(), anyLong())).thenReturn(1);
+
+        resumoFaturamentoService.removerCliente(7L);
+
+        verify(resumoFaturamentoRepository).removerPorCliente(7L);
+        verify(resumoFaturamentoRepository).somar(-8L, 202403, SituacaoConta.PAGA, -2L, -700L);
+        verify(resumoFaturamentoRepository, times(1)).somar(anyLong(), anyInt(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve converter o resumo para referência MM-AAAA e ignorar linhas zeradas")
+    void buscarTotaisGerais_DeveRetornarTotaisPorReferencia() {
+        when(resumoFaturamentoRepository.somarPorPeriodo(202401, 202412)).thenReturn(List.of(
+                new TotalCentavosDTO(202401, SituacaoConta.PAGA, 3L, 4030L),
+                new TotalCentavosDTO(202402, SituacaoConta.PAGA, 0L, 0L)));
+
+        List<TotalFaturamentoDTO> totais = resumoFaturamentoService.buscarTotaisGerais("01-2024", "12-2024");
+
+        assertEquals(1, totais.size());
+        assertEquals("01-2024", totais.get(0).getReferencia());
+        assertEquals(new BigDecimal("40.30"), totais.get(0).getTotal());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o período tiver referência inválida")
+    void buscarTotaisGerais_DeveLancarExcecao_QuandoReferenciaInvalida() {
+        assertThrows(ConsultaInvalidaException.class, () -> resumoFaturamentoService.buscarTotaisGerais("2024-01", null));
+    }
+}
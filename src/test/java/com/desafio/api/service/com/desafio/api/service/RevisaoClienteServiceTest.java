@@ -0,0 +1,77 @@
+package com.desafio.api.service;
+
+import com.desafio.api.model.RevisaoCliente;
+import com.desafio.api.repository.RevisaoClienteRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevisaoClienteServiceTest {
+
+    @Mock
+    private RevisaoClienteRepository revisaoClienteRepository;
+
+    @InjectMocks
+    private RevisaoClienteService revisaoClienteService;
+
+    @Test
+    @DisplayName("Deve incrementar a revisão do cliente e a faixa dele na lista de clientes com um único update")
+    void registrarAlteracaoCliente_DeveIncrementarComUmUpdate_QuandoRevisoesExistem() {
+        when(revisaoClienteRepository.incrementar(eq(Set.of(-6L, 5L)), any())).thenReturn(2);
+
+        revisaoClienteService.registrarAlteracaoCliente(5L);
+
+        verify(revisaoClienteRepository, times(1)).incrementar(anyCollection(), any());
+        verify(revisaoClienteRepository, never()).criarSeAusente(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve distribuir clientes diferentes entre as faixas da revisão da lista")
+    void registrarAlteracaoListaClientes_DeveUsarFaixaDoCliente() {
+        when(revisaoClienteRepository.incrementar(anyCollection(), any())).thenReturn(1);
+
+        revisaoClienteService.registrarAlteracaoListaClientes(16L);
+        revisaoClienteService.registrarAlteracaoListaClientes(17L);
+
+        verify(revisaoClienteRepository).incrementar(eq(Set.of(-1L)), any());
+        verify(revisaoClienteRepository).incrementar(eq(Set.of(-2L)), any());
+    }
+
+    @Test
+    @DisplayName("Deve somar as faixas na revisão da lista e responder vazio quando não houver nenhuma")
+    void buscarRevisaoListaClientes_DeveSomarFaixas() {
+        Instant ultima = Instant.parse("2026-01-02T03:04:05Z");
+        when(revisaoClienteRepository.somarFaixasListaClientes()).thenReturn(new RevisaoCliente(-1L, 42L, ultima),
+                new RevisaoCliente(null, null, null));
+
+        assertEquals(42L, revisaoClienteService.buscarRevisaoListaClientes().orElseThrow().getNumero());
+        assertTrue(revisaoClienteService.buscarRevisaoListaClientes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve criar a revisão que ainda não existe e incrementá-la")
+    void registrarAlteracaoContas_DeveCriarRevisao_QuandoClienteSemRevisao() {
+        when(revisaoClienteRepository.incrementar(eq(Set.of(1L, 2L)), any())).thenReturn(1);
+        when(revisaoClienteRepository.buscarExistentes(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        revisaoClienteService.registrarAlteracaoContas(List.of(2L, 1L));
+
+        InOrder ordem = inOrder(revisaoClienteRepository);
+        ordem.verify(revisaoClienteRepository).criarSeAusente(eq(2L), any());
+        ordem.verify(revisaoClienteRepository).incrementar(eq(Set.of(2L)), any());
+        verify(revisaoClienteRepository, never()).criarSeAusente(eq(1L), any());
+    }
+}
@@ -0,0 +1,119 @@
+package com.desafio.api.service;
+
+import com.desafio.api.constants.SituacaoConta;
+import com.desafio.api.dtos.ContaSituacaoDTO;
+import com.desafio.api.dtos.ResultadoTransicaoDTO;
+import com.desafio.api.dtos.TransicaoContasDTO;
+import com.desafio.api.exception.CampoIncorretoException;
+import com.desafio.api.repository.ContaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransicaoContaServiceTest {
+
+    @Mock
+    private ContaRepository contaRepository;
+
+    @Mock
+    private ResumoFaturamentoService resumoFaturamentoService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RevisaoClienteService revisaoClienteService;
+
+    @Mock
+    private EventoAlteracaoService eventoAlteracaoService;
+
+    @InjectMocks
+    private TransicaoContaService transicaoContaService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transicaoContaService, "tamanhoLote", 2);
+    }
+
+    @Test
+    @DisplayName("Deve alterar as contas elegíveis e rejeitar canceladas, já na situação destino e inexistentes")
+    @SuppressWarnings("unchecked")
+    void alterarSituacao_DeveRejeitarIds_QuandoRegraDeSituacaoNaoPermite() {
+        doAnswer(invocacao -> {
+            invocacao.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(contaRepository.bloquearSituacoes(List.of(1L, 2L))).thenReturn(List.of(
+                conta(1L, SituacaoConta.PENDENTE), conta(2L, SituacaoConta.CANCELADA)));
+        when(contaRepository.bloquearSituacoes(List.of(3L, 4L))).thenReturn(List.of(conta(3L, SituacaoConta.PAGA)));
+        when(contaRepository.alterarSituacao(List.of(1L), SituacaoConta.PAGA)).thenReturn(1);
+
+        ResultadoTransicaoDTO resultado = transicaoContaService.alterarSituacao(
+                new TransicaoContasDTO(SituacaoConta.PAGA, List.of(4L, 3L, 2L, 1L, 1L), null, null, null));
+
+        assertEquals(1, resultado.getContasAlteradas());
+        assertEquals(3, resultado.getContasRejeitadas());
+        assertEquals(List.of(2L, 3L, 4L), resultado.getIdsRejeitados().stream().sorted().toList());
+        verify(contaRepository, never()).alterarSituacao(eq(List.of()), any());
+        verify(resumoFaturamentoService).registrarTransicoes(List.of(conta(1L, SituacaoConta.PENDENTE)), SituacaoConta.PAGA);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer o filtro em lotes pelo id até esgotar as contas")
+    void alterarSituacao_DeveProcessarEmLotes_QuandoFiltroInformado() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        List<SituacaoConta> pendentes = List.of(SituacaoConta.PENDENTE);
+        when(contaRepository.buscarIdsAposId(0L, 7L, 202401, pendentes, Limit.of(2))).thenReturn(List.of(10L, 11L));
+        when(contaRepository.buscarIdsAposId(11L, 7L, 202401, pendentes, Limit.of(2))).thenReturn(List.of(12L));
+        when(contaRepository.bloquearSituacoes(anyList())).thenAnswer(invocacao -> invocacao.<List<Long>>getArgument(0).stream()
+                .map(id -> conta(id, SituacaoConta.PENDENTE)).toList());
+        when(contaRepository.alterarSituacao(anyList(), eq(SituacaoConta.CANCELADA)))
+                .thenAnswer(invocacao -> invocacao.<List<Long>>getArgument(0).size());
+
+        ResultadoTransicaoDTO resultado = transicaoContaService.alterarSituacao(
+                new TransicaoContasDTO(SituacaoConta.CANCELADA, null, 7L, "01-2024", SituacaoConta.PENDENTE));
+
+        assertEquals(3, resultado.getContasAlteradas());
+        assertEquals(0, resultado.getContasRejeitadas());
+        verify(contaRepository, times(2)).alterarSituacao(anyList(), eq(SituacaoConta.CANCELADA));
+        verify(resumoFaturamentoService, times(2)).registrarTransicoes(anyList(), eq(SituacaoConta.CANCELADA));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando não houver ids nem filtro")
+    void alterarSituacao_DeveLancarExcecao_QuandoSemIdsNemFiltro() {
+        TransicaoContasDTO transicao = new TransicaoContasDTO(SituacaoConta.PAGA, null, null, null, null);
+
+        CampoIncorretoException exception = assertThrows(CampoIncorretoException.class,
+                () -> transicaoContaService.alterarSituacao(transicao));
+
+        assertEquals("Informe os ids das contas ou um filtro (idCliente, referencia, situacaoAtual).", exception.getMessage());
+        verifyNoInteractions(contaRepository, transactionTemplate);
+    }
+
+    private ContaSituacaoDTO conta(Long id, SituacaoConta situacao) {
+        return new ContaSituacaoDTO(id, 7L, 202401, situacao, new BigDecimal("10.00"));
+    }
+}
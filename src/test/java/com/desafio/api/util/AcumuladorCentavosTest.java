@@ -0,0 +1,83 @@
+package com.desafio.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcumuladorCentavosTest {
+
+    @Test
+    @DisplayName("Deve empacotar e desempacotar cliente, competência e situação da chave")
+    void chave_DevePreservarComponentes() {
+        long chave = AcumuladorCentavos.chave(123_456_789L, 202412, 2);
+
+        assertEquals(123_456_789L, AcumuladorCentavos.idCliente(chave));
+        assertEquals(202412, AcumuladorCentavos.competencia(chave));
+        assertEquals(2, AcumuladorCentavos.situacao(chave));
+    }
+
+    @Test
+    @DisplayName("Deve somar quantidades e centavos por chave, inclusive após redimensionar")
+    void somar_DeveAgruparPorChave_QuandoHouverMuitasChaves() {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(2);
+
+        for (int i = 0; i < 10_000; i++) {
+            acumulador.somar(AcumuladorCentavos.chave(i % 100, 202401, 0), 1, 10);
+        }
+
+        List<Long> totais = new ArrayList<>();
+        acumulador.paraCada((chave, quantidade, centavos) -> {
+            assertEquals(100, quantidade);
+            totais.add(centavos);
+        });
+
+        assertEquals(100, acumulador.tamanho());
+        assertTrue(totais.stream().allMatch(total -> total == 1_000L));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer as chaves em ordem crescente")
+    void paraCadaEmOrdem_DevePercorrerChavesOrdenadas() {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(4);
+        acumulador.somar(AcumuladorCentavos.chave(2, 202401, 0), 1, 1);
+        acumulador.somar(AcumuladorCentavos.chave(0, 202402, 1), 1, 1);
+        acumulador.somar(AcumuladorCentavos.chave(0, 202401, 1), 1, 1);
+
+        List<Long> chaves = new ArrayList<>();
+        acumulador.paraCadaEmOrdem((chave, quantidade, centavos) -> chaves.add(chave));
+
+        assertEquals(List.of(AcumuladorCentavos.chave(0, 202401, 1), AcumuladorCentavos.chave(0, 202402, 1),
+                AcumuladorCentavos.chave(2, 202401, 0)), chaves);
+    }
+
+    @Test
+    @DisplayName("Deve somar valores decimais em centavos sem erro de arredondamento")
+    void somar_DeveSerExato_QuandoValoresDecimais() {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos(1);
+        long chave = AcumuladorCentavos.chave(1, 202401, 0);
+
+        for (int i = 0; i < 1_000; i++) {
+            acumulador.somar(chave, 1, CentavosUtil.paraCentavos(new BigDecimal("0.10")));
+        }
+
+        acumulador.paraCada((chaveAcumulada, quantidade, centavos) ->
+                assertEquals(new BigDecimal("100.00"), CentavosUtil.paraDecimal(centavos)));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar qualquer ano de quatro dígitos e rejeitar competência cujo índice não cabe na chave")
+    void chave_DeveLancarExcecao_QuandoAnoForaDoIntervalo() {
+        long chave = AcumuladorCentavos.chave(123_456_789L, 999912, 3);
+
+        assertEquals(123_456_789L, AcumuladorCentavos.idCliente(chave));
+        assertEquals(999912, AcumuladorCentavos.competencia(chave));
+        assertEquals(3, AcumuladorCentavos.situacao(chave));
+        assertEquals(101, AcumuladorCentavos.competencia(AcumuladorCentavos.chave(1, 101, 0)));
+        assertThrows(IllegalArgumentException.class, () -> AcumuladorCentavos.chave(1, 1092301, 0));
+    }
+}
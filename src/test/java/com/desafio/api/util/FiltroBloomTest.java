@@ -0,0 +1,42 @@
+package com.desafio.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    @DisplayName("Deve reconhecer todos os valores adicionados")
+    void podeConter_DeveRetornarVerdadeiro_QuandoValorAdicionado() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cpf:" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.podeConter("cpf:" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter a taxa de falso positivo próxima da configurada")
+    void podeConter_DeveRespeitarTaxaDeFalsoPositivo_QuandoDentroDaCapacidade() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cpf:" + i);
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filtro.podeConter("cpf:" + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        assertTrue(falsosPositivos < 2_000, "Falsos positivos: " + falsosPositivos);
+    }
+}
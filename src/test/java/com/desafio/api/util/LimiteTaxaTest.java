@@ -0,0 +1,70 @@
+package com.desafio.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteTaxaTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Deve admitir a rajada inteira e recusar a seguinte informando a espera")
+    void consumir_DeveRecusar_QuandoRajadaEsgotada() {
+        LimiteTaxa limite = new LimiteTaxa(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limite.consumir(0));
+        }
+
+        assertEquals(SEGUNDO / 10, limite.consumir(0));
+    }
+
+    @Test
+    @DisplayName("Deve repor fichas conforme a taxa, sem acumular além da rajada")
+    void consumir_DeveReporFichas_QuandoTempoPassar() {
+        LimiteTaxa limite = new LimiteTaxa(10, 2, 0);
+        limite.consumir(0);
+        limite.consumir(0);
+
+        assertTrue(limite.consumir(SEGUNDO / 20) > 0);
+        assertEquals(0, limite.consumir(SEGUNDO / 10));
+
+        // Depois de muito tempo parado só a rajada está disponível.
+        long depois = 60 * SEGUNDO;
+        assertEquals(0, limite.consumir(depois));
+        assertEquals(0, limite.consumir(depois));
+        assertTrue(limite.consumir(depois) > 0);
+    }
+
+    @Test
+    @DisplayName("Deve admitir exatamente a rajada quando várias threads consomem ao mesmo tempo")
+    void consumir_DeveSerExato_QuandoConcorrente() throws InterruptedException {
+        LimiteTaxa limite = new LimiteTaxa(1, 1_000, 0);
+        AtomicInteger admitidas = new AtomicInteger();
+        CountDownLatch fim = new CountDownLatch(8);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            threads.execute(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (limite.consumir(0) == 0) {
+                        admitidas.incrementAndGet();
+                    }
+                }
+                fim.countDown();
+            });
+        }
+
+        fim.await();
+        threads.shutdown();
+        assertEquals(1_000, admitidas.get());
+    }
+}
@@ -0,0 +1,25 @@
+package com.desafio.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenciaUtilTest {
+
+    @Test
+    @DisplayName("Deve aceitar qualquer ano de quatro dígitos")
+    void isValida_DeveRejeitarAno_QuandoNaoTiverQuatroDigitos() {
+        assertTrue(ReferenciaUtil.isValida("01-0001"));
+        assertTrue(ReferenciaUtil.isValida("12-9999"));
+        assertFalse(ReferenciaUtil.isValida("01-999"));
+        assertFalse(ReferenciaUtil.isValida("01-10000"));
+    }
+
+    @Test
+    @DisplayName("Deve converter competência em índice de mês e de volta")
+    void indiceMes_DevePreservarCompetencia() {
+        assertEquals(ReferenciaUtil.indiceMes(202412) + 1, ReferenciaUtil.indiceMes(202501));
+        assertEquals(202412, ReferenciaUtil.competenciaDoIndice(ReferenciaUtil.indiceMes(202412)));
+    }
+}
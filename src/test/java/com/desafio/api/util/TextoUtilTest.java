@@ -0,0 +1,23 @@
+package com.desafio.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextoUtilTest {
+
+    @Test
+    @DisplayName("Deve remover acentos, caixa e espaços repetidos do texto")
+    void normalizar_DeveIgnorarAcentosECaixa() {
+        assertEquals("joao conceicao", TextoUtil.normalizar("  JOÃO   Conceição "));
+        assertEquals("ana@exemplo.com", TextoUtil.normalizar("Ana@Exemplo.COM"));
+        assertNull(TextoUtil.normalizar(null));
+    }
+
+    @Test
+    @DisplayName("Deve manter somente os dígitos do texto")
+    void somenteDigitos_DeveRemoverPontuacao() {
+        assertEquals("12345678900", TextoUtil.somenteDigitos("123.456.789-00"));
+    }
+}
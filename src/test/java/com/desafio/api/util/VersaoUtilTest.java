@@ -0,0 +1,25 @@
+package com.desafio.api.util;
+
+import com.desafio.api.exception.CampoIncorretoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersaoUtilTest {
+
+    @Test
+    @DisplayName("Deve ler a versão de ETags fortes e fracos e aceitar qualquer versão sem If-Match ou com *")
+    void lerIfMatch_DeveRetornarVersao_QuandoCabecalhoValido() {
+        assertEquals(3L, VersaoUtil.lerIfMatch("\"3\""));
+        assertEquals(3L, VersaoUtil.lerIfMatch("W/\"3\""));
+        assertNull(VersaoUtil.lerIfMatch(null));
+        assertNull(VersaoUtil.lerIfMatch("*"));
+    }
+
+    @Test
+    @DisplayName("Deve tratar If-Match malformado como requisição inválida, não como conflito de versão")
+    void lerIfMatch_DeveLancarCampoIncorreto_QuandoCabecalhoMalformado() {
+        assertThrows(CampoIncorretoException.class, () -> VersaoUtil.lerIfMatch("\"abc\""));
+    }
+}